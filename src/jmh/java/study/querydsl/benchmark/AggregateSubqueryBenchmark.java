@@ -0,0 +1,98 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.search.AgeStatisticsSynchronizer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.querydsl.jpa.JPAExpressions.select;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+// 서브쿼리 방식과 집계를 한 번만 구하는 방식 비교 (1M 회원)
+// - olderThanAverage: where age > (select avg) vs 평균을 먼저 구해서 상수로 비교 (DB avg / 나이 분포)
+// - oldestPerTeam: 상관 서브쿼리 (같은 팀 max) vs group by 결과와 (team_id, age) 튜플 in
+// ./gradlew jmh -Pjmh.includes=AggregateSubqueryBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AggregateSubqueryBenchmark {
+
+    @Param({"1000000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    JPAQueryFactory queryFactory;
+    MemberRepository memberRepository;
+    ConfigurableApplicationContext statisticsContext;
+    MemberRepository memberRepositoryWithStatistics;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(members, "member.username-index.enabled=false");
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        statisticsContext = BenchmarkContext.start(members,
+                "spring.datasource.url=jdbc:h2:mem:benchmark-statistics;DB_CLOSE_DELAY=-1",
+                "member.username-index.enabled=false",
+                "member.age-statistics.enabled=true");
+        // 시드 데이터는 JDBC로 넣었으므로 나이 분포를 다시 적재한다.
+        statisticsContext.getBean(AgeStatisticsSynchronizer.class).rebuild();
+        memberRepositoryWithStatistics = statisticsContext.getBean(MemberRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        statisticsContext.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> olderThanAverage_subquery() {
+        QMember memberSub = new QMember("memberSub");
+        return queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.age.gt(select(memberSub.age.avg()).from(memberSub)))
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> olderThanAverage_precomputed() {
+        return memberRepository.findOlderThanAverage();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> olderThanAverage_statistics() {
+        return memberRepositoryWithStatistics.findOlderThanAverage();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> oldestPerTeam_correlated() {
+        QMember memberSub = new QMember("memberSub");
+        return queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(member.age.eq(
+                        select(memberSub.age.max())
+                                .from(memberSub)
+                                .where(memberSub.team.eq(member.team))))
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> oldestPerTeam_groupByTupleIn() {
+        return memberRepository.findOldestPerTeam();
+    }
+}
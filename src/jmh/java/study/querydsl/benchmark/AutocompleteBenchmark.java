@@ -0,0 +1,59 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.querydsl.dto.Suggestion;
+import study.querydsl.search.AutocompleteIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 회원명 자동완성 - 사전(캐시된 prefix별 상위 목록) vs 매번 group by + 개수순 정렬
+// ('select username, count(*) ... group by username order by count(*) desc, username'과 같은 방식, 같은 결과) 지연시간 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutocompleteBenchmark {
+
+    @Param({"10000", "100000"})
+    int members;
+
+    @Param({"m", "member12"})
+    String prefix;
+
+    AutocompleteIndex index;
+    List<String> usernames;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new AutocompleteIndex();
+        usernames = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            String username = (random.nextBoolean() ? "member" : "user") + random.nextInt(members / 2);
+            usernames.add(username);
+            index.putMember((long) i, username);
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> indexed() {
+        return index.usernames(prefix, 10);
+    }
+
+    @Benchmark
+    public List<Suggestion> groupBySort() {
+        return usernames.stream()
+                .filter(username -> username.startsWith(prefix))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .map(entry -> new Suggestion(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(Suggestion::count).reversed().thenComparing(Suggestion::value))
+                .limit(10)
+                .toList();
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// DB가 필요한 벤치마크용 애플리케이션 컨텍스트
+// inmemory 프로파일(인메모리 H2) + DatasetGenerator가 만든 데이터 (회원 i는 나이 i % 100, 팀 i % TEAMS + 1)
+final class BenchmarkContext {
+
+    private static final int TEAMS = 10;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(int members, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "dataset.members=" + members,
+                "dataset.teams=" + TEAMS,
+                "logging.level.root=warn"));
+        all.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("inmemory")   // spring.profiles.active=perf 등과 같이 활성화된다.
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 기본 설정과 perf 프로파일(application-perf.yml)의 동시성별 처리량/지연시간 비교
+// Throughput = ops/ms, SampleTime = 호출당 지연시간 분포 (p50/p90/p99 등)
+// ./gradlew jmh -Pjmh.includes=ConnectionPoolBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ConnectionPoolBenchmark {
+
+    @Param({"default", "perf"})
+    String profile;
+
+    @Param({"100000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+    EntityManager em;
+
+    @Setup
+    public void setUp() {
+        context = "perf".equals(profile)
+                ? BenchmarkContext.start(members, "spring.profiles.active=perf", "member.username-index.enabled=false")
+                : BenchmarkContext.start(members, "member.username-index.enabled=false");
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+    }
+
+    // bulkInsert_8이 저장한 회원을 iteration마다 지워서 search_* 가 읽는 데이터(members명)와 insert 시점의 테이블 크기를 일정하게 유지한다.
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        transactionTemplate.executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'load%'").executeUpdate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Page<MemberTeamDto> search_1() {
+        return search();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Page<MemberTeamDto> search_8() {
+        return search();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Page<MemberTeamDto> search_32() {
+        return search();
+    }
+
+    // 1000건 저장 (jdbc batch_size, order_inserts 효과)
+    @Benchmark
+    @Threads(8)
+    public void bulkInsert_8() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 1000; i++) {
+                em.persist(new Member("load" + i, i % 100));
+            }
+        });
+    }
+
+    private Page<MemberTeamDto> search() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team" + (random.nextInt(10) + 1));
+        condition.setAgeGoe(random.nextInt(50));
+        return memberRepository.searchPageComplex(condition, PageRequest.of(random.nextInt(10), 20));
+    }
+}
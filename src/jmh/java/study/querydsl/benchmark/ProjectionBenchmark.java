@@ -0,0 +1,81 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.repository.MemberJdbcRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+
+// DTO 조회 방식별 처리 시간/할당량 비교 (-prof gc의 gc.alloc.rate.norm = 호출당 할당 바이트)
+// ./gradlew jmh -Pjmh.includes=ProjectionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProjectionBenchmark {
+
+    @Param({"100000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    JPAQueryFactory queryFactory;
+    MemberJdbcRepository memberJdbcRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(members, "member.username-index.enabled=false");
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        memberJdbcRepository = context.getBean(MemberJdbcRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberDto> projectionsBean() {
+        return queryFactory
+                .select(Projections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> projectionsFields() {
+        return queryFactory
+                .select(Projections.fields(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> projectionsConstructor() {
+        return queryFactory
+                .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> queryProjection() {
+        return queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    // 조건이 없으면 JPA 쪽과 같은 select username, age from member (team join 없음)
+    @Benchmark
+    public List<MemberDto> jdbcProjection() {
+        return memberJdbcRepository.searchMemberDto(new MemberSearchCondition());
+    }
+}
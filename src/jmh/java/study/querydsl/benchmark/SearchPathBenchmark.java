@@ -0,0 +1,75 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJdbcRepository;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSqlRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 같은 검색을 querydsl-jpa(HQL 변환 + 영속성 컨텍스트), querydsl-sql, 직접 작성한 SQL(JDBC)로 실행했을 때의 처리량 비교
+// ./gradlew jmh -Pjmh.includes=SearchPathBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchPathBenchmark {
+
+    @Param({"100000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberSqlRepository memberSqlRepository;
+    MemberJdbcRepository memberJdbcRepository;
+    MemberSearchCondition condition;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(members, "member.username-index.enabled=false");
+        memberRepository = context.getBean(MemberRepository.class);
+        memberSqlRepository = context.getBean(MemberSqlRepository.class);
+        memberJdbcRepository = context.getBean(MemberJdbcRepository.class);
+
+        condition = new MemberSearchCondition();   // 팀 1개, 나이 20~39 -> 약 2000건
+        condition.setTeamName("team3");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(39);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchJpa() {
+        return memberRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchQuerydslSql() {
+        return memberSqlRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchJdbc() {
+        return memberJdbcRepository.search(condition);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> pageJpa() {
+        return memberRepository.searchPageComplex(condition, PageRequest.of(10, 20));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> pageQuerydslSql() {
+        return memberSqlRepository.searchPage(condition, PageRequest.of(10, 20));
+    }
+}
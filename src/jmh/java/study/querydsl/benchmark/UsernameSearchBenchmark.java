@@ -0,0 +1,60 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import study.querydsl.search.UsernameNgramIndex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 회원명 부분 일치/유사 검색 - trigram 인덱스 vs 전체 스캔('%x%'와 같은 방식) 지연시간 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UsernameSearchBenchmark {
+
+    @Param({"10000", "100000"})
+    int members;
+
+    @Param({"er123", "mbr4567"})
+    String query;
+
+    UsernameNgramIndex index;
+    List<String> usernames;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new UsernameNgramIndex();
+        usernames = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            String username = (random.nextBoolean() ? "member" : "user") + i;
+            usernames.add(username);
+            index.put((long) i, username);
+        }
+    }
+
+    @Benchmark
+    public Set<Long> containsIndexed() {
+        return index.contains(query);
+    }
+
+    @Benchmark
+    public Set<Long> containsScan() {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i < usernames.size(); i++) {
+            if (usernames.get(i).toLowerCase().contains(query)) {
+                result.add((long) i);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Long> fuzzyIndexed() {
+        return index.fuzzy(query, 100);
+    }
+}
@@ -0,0 +1,52 @@
+package study.querydsl.loadtest;
+
+import java.util.Arrays;
+
+// 응답 시간(ns) 기록. 작업 스레드마다 하나씩 쓰고 끝난 뒤 합친다. (기록 중에는 동기화 없음)
+final class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.values[i]);
+        }
+        errors += other.errors;
+    }
+
+    long requests() {
+        return size + errors;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // 정렬한 뒤 nearest-rank 방식으로 백분위수를 구한다. (성공한 요청만)
+    long[] percentiles(double... percentiles) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        long[] result = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (sorted.length == 0) {
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100 * sorted.length);
+            result[i] = sorted[Math.max(rank, 1) - 1];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+package study.querydsl.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// REST 검색 API(/v1, /v2, /v3, /v5 members) 부하 테스트
+// inmemory 프로파일 + DatasetGenerator 데이터로 애플리케이션을 띄우고, 시나리오(API, 페이지 깊이)마다
+// concurrency개의 스레드가 응답을 받자마자 다음 요청을 보내는 방식(closed loop)으로 duration 동안 호출한다.
+// 결과는 콘솔 표와 JSON(loadtest.output)으로 남겨서 커밋 간 비교에 사용한다.
+// 같은 URL만 보내면 응답 캐시(SearchResponseCache), 결과 캐시(MemberSearchCache), single-flight가 대부분을 처리해서
+// 쿼리 성능이 아니라 캐시 성능을 재게 되므로
+// - 요청마다 나이 범위(/v1은 팀도)를 바꾼다. 워커마다 loadtest.seed + 워커 번호로 만든 Random을 써서 실행마다 같은 순서로 보낸다.
+// - 캐시는 기본으로 끈다. (응답 캐시 max-entries=0, 결과 캐시 max-rows=0) 캐시를 포함해서 재려면 -Dloadtest.caches=true
+//
+// ./gradlew loadTest -Dloadtest.members=100000 -Dloadtest.concurrency=32 -Dloadtest.label=$(git rev-parse --short HEAD)
+public class LoadTest {
+
+    private static final int TEAMS = 10;
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        int members = Integer.getInteger("loadtest.members", 100_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 20));
+        List<Integer> pages = pages(System.getProperty("loadtest.pages", "0,10,100,1000"));
+        Path output = Path.of(System.getProperty("loadtest.output", "build/results/loadtest/results.json"));
+        long seed = Long.getLong("loadtest.seed", 42);
+        boolean caches = Boolean.getBoolean("loadtest.caches");
+
+        try (ConfigurableApplicationContext context = start(members, caches)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            try {
+                List<ScenarioResult> results = new ArrayList<>();
+                for (Scenario scenario : scenarios(pages)) {
+                    run(client, workers, baseUrl, scenario, concurrency, seed, warmup);     // 결과는 버린다.
+                    long start = System.nanoTime();
+                    LatencySamples samples = run(client, workers, baseUrl, scenario, concurrency, seed, duration);
+                    ScenarioResult result = ScenarioResult.of(scenario, samples, (System.nanoTime() - start) / 1e9);
+                    results.add(result);
+                    print(scenario, result);
+                }
+                write(output, members, concurrency, duration, seed, caches, results);
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    // /v1은 페이징이 없으므로 한 번, /v2(fetchResults), /v3(count 생략 최적화), /v5(추정 count)는 페이지 깊이별로
+    // 검색 조건(나이 범위, 팀)은 요청마다 filter()로 만든다.
+    private static List<Scenario> scenarios(List<Integer> pages) {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("/v1/members", null, ""));
+        for (Integer page : pages) {
+            scenarios.add(new Scenario("/v2/members", page, "size=" + PAGE_SIZE));
+        }
+        for (Integer page : pages) {
+            scenarios.add(new Scenario("/v3/members", page, "size=" + PAGE_SIZE));
+        }
+        for (Integer page : pages) {
+            scenarios.add(new Scenario("/v5/members", page, "count=ESTIMATED&size=" + PAGE_SIZE));
+        }
+        return scenarios;
+    }
+
+    // 회원 나이는 0~99살이 고르게 분포한다. (DatasetGenerator)
+    // - /v1: 팀 하나 + 10살 범위 (전체의 약 1%)
+    // - 페이징 API: 60~100살 폭의 범위 (전체의 60% 이상), 가장 깊은 페이지도 비지 않도록 넓게 잡는다.
+    private static String filter(Scenario scenario, Random random) {
+        if (scenario.page() == null) {
+            int ageGoe = random.nextInt(91);
+            return "teamName=team" + (random.nextInt(TEAMS) + 1) + "&ageGoe=" + ageGoe + "&ageLoe=" + (ageGoe + 9);
+        }
+        return "ageGoe=" + random.nextInt(21) + "&ageLoe=" + (80 + random.nextInt(20));
+    }
+
+    private static LatencySamples run(HttpClient client, ExecutorService workers, String baseUrl, Scenario scenario,
+                                      int concurrency, long seed, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<LatencySamples>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seed + i);
+            futures.add(workers.submit(() -> {
+                LatencySamples samples = new LatencySamples();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(scenario.uri(baseUrl, filter(scenario, random)))
+                            .header("Accept", "application/json")
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            samples.error();
+                        } else {
+                            samples.record(System.nanoTime() - start);
+                        }
+                    } catch (IOException e) {
+                        samples.error();
+                    }
+                }
+                return samples;
+            }));
+        }
+
+        LatencySamples all = new LatencySamples();
+        for (Future<LatencySamples> future : futures) {
+            all.addAll(future.get());
+        }
+        return all;
+    }
+
+    private static ConfigurableApplicationContext start(int members, boolean caches) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "dataset.members=" + members,
+                "dataset.teams=" + TEAMS,
+                "logging.level.root=warn"));
+        if (!caches) {
+            properties.add("member.response-cache.max-entries=0");
+            properties.add("member.search-cache.max-rows=0");
+        }
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .profiles("inmemory")
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    private static List<Integer> pages(String value) {
+        List<Integer> pages = new ArrayList<>();
+        for (String page : value.split(",")) {
+            pages.add(Integer.parseInt(page.trim()));
+        }
+        return pages;
+    }
+
+    private static void print(Scenario scenario, ScenarioResult result) {
+        System.out.printf("%-24s %8d req %8.1f req/s  err %5.2f%%  p50 %7.2fms  p95 %7.2fms  p99 %7.2fms%n",
+                scenario.name(), result.requests(), result.throughput(), result.errorRate() * 100,
+                result.p50Ms(), result.p95Ms(), result.p99Ms());
+    }
+
+    private static void write(Path output, int members, int concurrency, Duration duration, long seed, boolean caches,
+                              List<ScenarioResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", System.getProperty("loadtest.label", ""));   // 비교용 (커밋 해시 등)
+        report.put("timestamp", Instant.now().toString());
+        report.put("members", members);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("seed", seed);
+        report.put("caches", caches);
+        report.put("results", results);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("results: " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.loadtest;
+
+import java.net.URI;
+
+// 부하 테스트 대상 요청 하나. page는 페이징 API의 페이지 번호(깊이), 페이징이 없는 API는 null
+// query는 모든 요청에 같은 파라미터(size 등), 검색 조건(filter)은 요청마다 바뀐다.
+record Scenario(String endpoint, Integer page, String query) {
+
+    URI uri(String baseUrl, String filter) {
+        StringBuilder uri = new StringBuilder(baseUrl).append(endpoint).append('?').append(filter);
+        if (!query.isEmpty()) {
+            uri.append('&').append(query);
+        }
+        if (page != null) {
+            uri.append("&page=").append(page);
+        }
+        return URI.create(uri.toString());
+    }
+
+    String name() {
+        return page != null ? endpoint + " page=" + page : endpoint;
+    }
+}
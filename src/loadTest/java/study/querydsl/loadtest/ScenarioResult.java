@@ -0,0 +1,23 @@
+package study.querydsl.loadtest;
+
+// 시나리오 하나의 측정 결과 (results.json의 한 항목)
+record ScenarioResult(String endpoint, Integer page, long requests, long errors, double errorRate,
+                      double throughput, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+    static ScenarioResult of(Scenario scenario, LatencySamples samples, double elapsedSeconds) {
+        long[] p = samples.percentiles(50, 95, 99, 100);
+        long requests = samples.requests();
+        return new ScenarioResult(
+                scenario.endpoint(),
+                scenario.page(),
+                requests,
+                samples.errors(),
+                requests == 0 ? 0 : (double) samples.errors() / requests,
+                requests / elapsedSeconds,
+                millis(p[0]), millis(p[1]), millis(p[2]), millis(p[3]));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
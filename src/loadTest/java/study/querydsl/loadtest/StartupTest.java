@@ -0,0 +1,121 @@
+package study.querydsl.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 시작 시간 측정 - 새 JVM으로 애플리케이션을 띄우고 /v1/members가 처음 200을 응답할 때까지의 시간
+// 같은 JVM에서 컨텍스트만 다시 띄우면 클래스 로딩, JIT이 이미 끝나 있으므로 매번 프로세스를 새로 만든다.
+// 프로파일 조합(startup.profiles, ';'로 구분)마다 startup.runs번 실행해서 min/median/max를 기록한다.
+//
+// ./gradlew startupTest
+// CDS 비교: ./gradlew cdsArchive startupTest -Dstartup.jar=build/cds/querydsl-0.0.1-SNAPSHOT.jar \
+//           -Dstartup.jvm-args=-XX:SharedArchiveFile=build/cds/application.jsa
+public class StartupTest {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<String> profiles = List.of(System.getProperty("startup.profiles", "inmemory;inmemory,faststart").split(";"));
+        String jar = System.getProperty("startup.jar");     // 없으면 현재 classpath로 실행
+        List<String> jvmArgs = split(System.getProperty("startup.jvm-args", ""));
+        Path output = Path.of(System.getProperty("startup.output", "build/results/startup/results.json"));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String profile : profiles) {
+            double[] millis = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstResponse(jar, jvmArgs, profile);
+            }
+            Arrays.sort(millis);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("profiles", profile);
+            result.put("runs", runs);
+            result.put("minMs", millis[0]);
+            result.put("medianMs", millis[runs / 2]);
+            result.put("maxMs", millis[runs - 1]);
+            results.add(result);
+            System.out.printf("%-24s min %8.1fms  median %8.1fms  max %8.1fms%n",
+                    profile, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", System.getProperty("startup.label", ""));
+        report.put("timestamp", Instant.now().toString());
+        report.put("jar", jar);
+        report.put("jvmArgs", jvmArgs);
+        report.put("results", results);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("results: " + output.toAbsolutePath());
+    }
+
+    private static double timeToFirstResponse(String jar, List<String> jvmArgs, String profile) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        if (jar != null) {
+            command.addAll(List.of("-jar", jar));
+        } else {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), "study.querydsl.QuerydslApplication"));
+        }
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profile,
+                "--logging.level.root=warn"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/members")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000.0;
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("no response within timeout: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+}
@@ -2,9 +2,14 @@ package study.querydsl;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import study.querydsl.event.ChangeTrackingJPAQueryFactory;
+import study.querydsl.event.EntityChangeEventPublisher;
+import study.querydsl.outbox.OutboxRelay;
 
 @SpringBootApplication
 public class QuerydslApplication {
@@ -14,8 +19,15 @@ public class QuerydslApplication {
 	}
 
 	@Bean
-	JPAQueryFactory jpaQueryFactory(EntityManager em) {		// JPAQueryFactory를 빈으로 등록
-		return new JPAQueryFactory(em);
+	JPAQueryFactory jpaQueryFactory(EntityManager em, ApplicationEventPublisher eventPublisher) {		// JPAQueryFactory를 빈으로 등록
+		return new ChangeTrackingJPAQueryFactory(em, eventPublisher);	// 벌크 연산 시 BulkChangedEvent 발행
+	}
+
+	// spring.main.lazy-initialization=true(faststart 프로파일)에서도 시작할 때 만들어야 하는 빈
+	// 요청이 오기 전부터 동작해야 한다. (Hibernate 변경 이벤트 리스너 등록, outbox 주기적 발행)
+	@Bean
+	static LazyInitializationExcludeFilter eagerBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(EntityChangeEventPublisher.class, OutboxRelay.class);
 	}
 
 }
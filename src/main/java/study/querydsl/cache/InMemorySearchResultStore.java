@@ -0,0 +1,45 @@
+package study.querydsl.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 원격 2차 캐시 대신 쓰는 로컬 구현 (테스트, 로컬 개발용). member.search-cache.l2=in-memory일 때만 등록된다.
+// 만료가 없으므로 이전 버전의 결과도 남아 있다. (조회되지는 않음)
+@Component
+@ConditionalOnProperty(name = "member.search-cache.l2", havingValue = "in-memory")
+public class InMemorySearchResultStore implements SearchResultStore {
+
+    private final Map<String, List<?>> store = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<List<T>> get(String key) {
+        return Optional.ofNullable((List<T>) store.get(key));
+    }
+
+    @Override
+    public <T> void put(String key, List<T> value) {
+        store.put(key, value);
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public long incrementVersion() {
+        return version.incrementAndGet();
+    }
+
+    public int size() {
+        return store.size();
+    }
+}
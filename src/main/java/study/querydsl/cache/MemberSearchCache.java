@@ -0,0 +1,112 @@
+package study.querydsl.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.DataVersion;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 회원 검색 결과 캐시
+// - 1차: 로컬 Caffeine 캐시 (W-TinyLFU), 결과 리스트마다 크기가 다르므로 개수 대신 캐시된 전체 행 수(maxRows)로 제한한다.
+// - 2차: SearchResultStore 빈이 있을 때만 사용 (원격 캐시)
+// 키에 데이터 버전을 포함하므로 조회 도중 커밋된 변경이 있어도 오래된 결과가 새 버전으로 조회되지 않는다.
+// - 1차 키: (query, 정규화된 조건, 이 인스턴스의 DataVersion)
+// - 2차 키: (query, 정규화된 조건, 저장소의 공유 버전) - 인스턴스마다 다른 DataVersion은 넣지 않는다.
+// 회원/팀 변경이 커밋되면 이 인스턴스의 1차 캐시만 비우고, 2차는 공유 버전을 올려서 이전 결과를 조회하지 않게 한다.
+// (단건 변경이 어떤 조건의 결과에 영향을 주는지 따로 계산하지 않음)
+// 지표: cache.gets{result=hit|miss}, cache.evictions 등 (cache=member.search)
+@Component
+public class MemberSearchCache {
+
+    private final DataVersion dataVersion;
+    private final Cache<Key, List<?>> local;
+    private final SearchResultStore remote;
+
+    public MemberSearchCache(DataVersion dataVersion,
+                             ObjectProvider<SearchResultStore> remote,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${member.search-cache.max-rows:100000}") long maxRows) {
+        this.dataVersion = dataVersion;
+        this.remote = remote.getIfAvailable();
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, List<?> rows) -> rows.size() + 1)   // 빈 결과도 한 칸을 차지한다.
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, local, "member.search"));
+    }
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 loader로 조회해서 캐시한다. 반환되는 리스트는 수정할 수 없다.
+     * 같은 키를 동시에 조회하면 loader는 한 번만 실행된다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String query, Object condition, Supplier<List<T>> loader) {
+        Key key = new Key(query, condition, dataVersion.current());
+        return (List<T>) local.get(key, k -> {
+            if (remote == null) {
+                return List.copyOf(loader.get());
+            }
+            // 조회 전에 공유 버전을 읽어야 조회 도중 다른 인스턴스의 변경이 커밋되어도 새 버전 키에 오래된 결과가 저장되지 않는다.
+            String remoteKey = query + ":" + condition + "@" + remote.version();
+            Optional<List<T>> cached = remote.get(remoteKey);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            List<T> result = List.copyOf(loader.get());
+            remote.put(remoteKey, result);
+            return result;
+        });
+    }
+
+    public CacheStats stats() {
+        return local.stats();
+    }
+
+    /**
+     * 이 인스턴스의 1차 캐시를 비우고, 2차 캐시는 공유 버전을 올려서 이전 결과가 조회되지 않게 한다.
+     */
+    public void invalidateAll() {
+        if (remote != null) {
+            remote.incrementVersion();
+        }
+        evictLocal();
+    }
+
+    public void evictLocal() {
+        local.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        if ("Member".equals(event.entityName()) || "Team".equals(event.entityName())) {
+            invalidateAll();
+        }
+    }
+
+    // condition은 equals/hashCode/toString이 값 기반이어야 한다. (record, @Data)
+    private record Key(String query, Object condition, long version) {
+    }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+// 검색 결과 캐시의 2차 저장소 (여러 인스턴스가 공유하는 Redis 등)
+// 빈이 등록되어 있을 때만 MemberSearchCache가 로컬 캐시 다음으로 조회한다.
+// 키에 공유 버전(version)을 넣어서 쓰므로, 데이터가 바뀌면 저장소를 비우지 않고 버전만 올린다.
+// 이전 버전의 키는 더 이상 조회되지 않고 저장소의 만료(TTL 등)로 정리된다.
+public interface SearchResultStore {
+
+    <T> Optional<List<T>> get(String key);
+
+    <T> void put(String key, List<T> value);
+
+    // 모든 인스턴스가 공유하는 데이터 버전 (Redis GET/INCR 등)
+    long version();
+
+    long incrementVersion();
+}
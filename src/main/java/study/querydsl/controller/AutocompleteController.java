@@ -0,0 +1,31 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.Suggestion;
+import study.querydsl.service.AutocompleteService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    // 입력한 앞부분으로 시작하는 회원명을 많이 쓰인 순으로 limit개 (select username, count(*) ... like 'prefix%' group by 대체)
+    @GetMapping("/v1/autocomplete/usernames")
+    public List<Suggestion> usernames(@RequestParam(defaultValue = "") String prefix,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.usernames(prefix, limit);
+    }
+
+    // 팀 필터 드롭다운용 팀명
+    @GetMapping("/v1/autocomplete/team-names")
+    public List<Suggestion> teamNames(@RequestParam(defaultValue = "") String prefix,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.teamNames(prefix, limit);
+    }
+}
@@ -2,13 +2,33 @@ package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import study.querydsl.dto.CountMode;
+import study.querydsl.dto.CountedPage;
+import study.querydsl.dto.MemberCreateRequest;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.dto.MemberTeamRecord;
+import study.querydsl.dto.PageEnvelope;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberArchiveService;
+import study.querydsl.service.MemberIngestService;
+import study.querydsl.service.MemberSearchService;
+import study.querydsl.service.MemberStreamService;
+import study.querydsl.web.SearchResponseCache;
 
 import java.util.List;
 
@@ -16,25 +36,86 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberController {
 
-    private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberIngestService memberIngestService;
+    private final MemberArchiveService memberArchiveService;
+    private final MemberSearchService memberSearchService;
+    private final MemberStreamService memberStreamService;
+    private final SearchResponseCache searchResponseCache;
+
+    // 검색 API는 모두 ETag를 내려주고, 데이터가 바뀌지 않았으면 DB 조회 없이 304를 반환한다. (SearchResponseCache)
 
     // Spring Data JPA를 사용하지 않고 member에 관한 정보를 memberTeamDto로 출력한 방식
+    // MemberJpaRepository.searchByWhere 결과는 MemberSearchService에서 캐시된다. (회원/팀 변경이 커밋되면 무효화)
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.searchByWhere(condition);
+    public ResponseEntity<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition, WebRequest request) {
+        return searchResponseCache.respond(request, "v1", condition, Pageable.unpaged(),
+                () -> memberSearchService.searchByWhere(condition));
     }
 
     // Spring Data JPA를 사용한 방식. fetchResults()를 사용하여 MemberTeamDto를 출력한다.
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageSimple(condition, pageable);
+    public ResponseEntity<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable,
+                                                              WebRequest request) {
+        return searchResponseCache.respond(request, "v2", condition, pageable,
+                () -> memberRepository.searchPageSimple(condition, pageable));
     }
 
-    // Spring Data JPA를 사용한 방식. fetchResults()를 사용하지 않고, content와 total을 따로 출력하였으며,
-    // PageableExecutionUtils를 사용하여 count쿼리를 생략 가능한 경우 생략해서 사용하는 페이징 처리 최적화 기법.
+    // MemberSearchService.searchPageRecord(..., EXACT)로 content와 정확한 total을 조회해서 PageImpl로 감싼다.
+    // (pageSize + 1건을 조회해서 마지막 페이지면 count 쿼리 없이 total을 계산한다.)
+    // 같은 조건의 동시 요청은 MemberSearchService에서 쿼리 한 번으로 합쳐진다.
+    // (record로 조회하지만 필드가 MemberTeamDto와 같으므로 응답 JSON은 그대로다.)
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplex(condition, pageable);
+    public ResponseEntity<Page<MemberTeamRecord>> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+                                                                 WebRequest request) {
+        return searchResponseCache.respond(request, "v3", condition, pageable, () -> {
+            CountedPage<MemberTeamRecord> page = memberSearchService.searchPageRecord(condition, pageable, CountMode.EXACT);
+            return new PageImpl<>(page.content(), pageable, page.total());
+        });
+    }
+
+    // /v3와 같은 검색이지만 PageImpl 대신 {content, nextCursor, total, totalExact} 형태로 응답한다.
+    // count=ESTIMATED|NONE이면 전체 count 쿼리 없이 추정치(totalExact=false) 또는 다음 페이지 여부만 내려준다.
+    @GetMapping("/v5/members")
+    public ResponseEntity<PageEnvelope<MemberTeamRecord>> searchMemberV5(MemberSearchCondition condition, Pageable pageable,
+                                                                          @RequestParam(defaultValue = "EXACT") CountMode count,
+                                                                          WebRequest request) {
+        return searchResponseCache.respond(request, "v5-" + count, condition, pageable,
+                () -> PageEnvelope.of(memberSearchService.searchPageRecord(condition, pageable, count)));
+    }
+
+    // 검색 결과 전체를 리스트로 만들지 않고 한 건씩 흘려보낸다.
+    // Accept: application/x-ndjson -> 줄 단위 JSON, text/event-stream -> SSE
+    @GetMapping(value = "/v4/members/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MemberTeamDto> streamMemberV4(MemberSearchCondition condition) {
+        return memberStreamService.stream(condition);
+    }
+
+    // 회원 활동 기록, 오래 활동이 없는 회원은 보관 테이블로 옮겨지고(MemberArchiveScheduler) 보관된 회원이 활동하면 되돌린다.
+    @PostMapping("/v1/members/{memberId}/activity")
+    public ResponseEntity<Void> recordActivityV1(@PathVariable Long memberId) {
+        if (!memberArchiveService.recordActivity(memberId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // 회원 생성 요청을 큐에 적재만 하고 바로 202를 반환한다. 실제 저장은 MemberIngestService가 배치로 처리.
+    // 큐가 가득 찬 경우 429를 반환해서 클라이언트가 잠시 후 재시도하도록 한다.
+    // 종료 중이면 503을 반환해서 다른 인스턴스로 재시도하도록 한다.
+    @PostMapping("/v1/members")
+    public ResponseEntity<Void> createMemberV1(@RequestBody MemberCreateRequest request) {
+        boolean accepted;
+        try {
+            accepted = memberIngestService.offer(request);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (!accepted) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.accepted().build();
     }
 }
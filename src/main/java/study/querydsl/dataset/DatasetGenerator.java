@@ -0,0 +1,69 @@
+package study.querydsl.dataset;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// 성능 측정용 데이터를 빈 테이블에 JDBC batch로 바로 넣는다. (엔티티/영속성 컨텍스트/변경 이벤트를 거치지 않음)
+// 같은 (members, teams)이면 항상 같은 데이터가 만들어진다.
+// - 팀 j (1..teams): 이름 "team" + j
+// - 회원 i (1..members): 이름 "member" + i, 나이 i % 100, 팀 i % teams + 1, 마지막 활동 BASE_TIME - (i % 730)일
+@Component
+public class DatasetGenerator {
+
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void generate(int members, int teams, int batchSize) {
+        insert("insert into team (id, name) values (?, ?)", teams, batchSize, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, "team" + id);
+        });
+        insert("insert into member (member_id, username, age, team_id, last_active_at) values (?, ?, ?, ?, ?)",
+                members, batchSize, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "member" + id);
+                    ps.setInt(3, (int) (id % 100));
+                    ps.setLong(4, id % teams + 1);
+                    ps.setTimestamp(5, Timestamp.valueOf(BASE_TIME.minusDays(id % 730)));
+                });
+
+        // 이후 JPA로 저장하는 엔티티와 id가 겹치지 않도록 시퀀스를 뒤로 민다.
+        jdbcTemplate.execute("alter sequence team_seq restart with " + (teams + 100));
+        jdbcTemplate.execute("alter sequence member_seq restart with " + (members + 100));
+    }
+
+    // id 1..count를 batchSize개씩 나눠서 insert, row마다 Object[]를 만들지 않고 PreparedStatement에 바로 넣는다.
+    private void insert(String sql, int count, int batchSize, RowSetter setter) {
+        for (int from = 1; from <= count; from += batchSize) {
+            int start = from;
+            int size = Math.min(batchSize, count - from + 1);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.set(ps, start + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, long id) throws SQLException;
+    }
+}
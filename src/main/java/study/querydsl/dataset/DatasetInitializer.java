@@ -0,0 +1,41 @@
+package study.querydsl.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// dataset.members가 설정되어 있으면 시작할 때 데이터를 생성한다. (inmemory 프로파일, 벤치마크, 부하 테스트)
+// ApplicationReadyEvent 전에 실행되므로 인메모리 인덱스들은 생성된 데이터로 적재된다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dataset.members")
+public class DatasetInitializer implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final int members;
+    private final int teams;
+    private final int batchSize;
+
+    public DatasetInitializer(DatasetGenerator datasetGenerator,
+                              @Value("${dataset.members}") int members,
+                              @Value("${dataset.teams:10}") int teams,
+                              @Value("${dataset.batch-size:10000}") int batchSize) {
+        this.datasetGenerator = datasetGenerator;
+        this.members = members;
+        this.teams = teams;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (members <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        datasetGenerator.generate(members, teams, batchSize);
+        log.info("dataset generated: {} members, {} teams in {} ms", members, teams, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,8 @@
+package study.querydsl.dto;
+
+// 페이징 조회 시 전체 건수(total)를 구하는 방식
+public enum CountMode {
+    EXACT,      // count 쿼리로 정확한 건수
+    ESTIMATED,  // 나이 분포, 테이블 통계, 상한이 있는 count로 추정 (깊은 목록 화면용)
+    NONE        // 건수 없이 다음 페이지 여부만
+}
@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// CountMode에 따라 조회한 페이지. total은 NONE이면 null, totalExact가 false면 추정치(또는 최소 건수)
+public record CountedPage<T>(List<T> content, Pageable pageable, boolean hasNext, Long total, boolean totalExact) {
+
+    public static <T> CountedPage<T> exact(List<T> content, Pageable pageable, boolean hasNext, long total) {
+        return new CountedPage<>(content, pageable, hasNext, total, true);
+    }
+
+    public static <T> CountedPage<T> estimated(List<T> content, Pageable pageable, boolean hasNext, long total) {
+        return new CountedPage<>(content, pageable, hasNext, total, false);
+    }
+
+    public static <T> CountedPage<T> unknown(List<T> content, Pageable pageable, boolean hasNext) {
+        return new CountedPage<>(content, pageable, hasNext, null, false);
+    }
+}
@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MemberCreateRequest {
+    // 회원 생성 요청, 팀은 엔티티 대신 id로만 받는다. (flush 시점에 프록시로 연결)
+    private String username;
+    private int age;
+    private Long teamId;
+
+    public MemberCreateRequest(String username, int age, Long teamId) {
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+    }
+}
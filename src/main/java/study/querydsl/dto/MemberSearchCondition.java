@@ -2,11 +2,16 @@ package study.querydsl.dto;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class MemberSearchCondition {
     // 회원명, 팀명, 나이(ageGoe, ageLoe)
     private String userName;
+    private UsernameMatch usernameMatch;    // null이면 EXACT
     private String teamName;
+    private List<String> teamNames;         // 팀명 중 하나와 일치 (teamName과 같이 쓰면 둘 다 만족)
     private Integer ageGoe;
     private Integer ageLoe;
+    private boolean includeArchived;        // 보관된(비활성) 회원도 포함, search()만 지원
 }
@@ -0,0 +1,12 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+
+// MemberTeamDto의 불변(record) 버전. setter/equals 등을 Lombok으로 만들 필요가 없고, 생성 후 값이 바뀌지 않는다.
+// canonical 생성자에 @QueryProjection을 붙이면 QMemberTeamRecord가 생성된다.
+public record MemberTeamRecord(Long memberId, String username, int age, Long teamId, String teamName) {
+
+    @QueryProjection
+    public MemberTeamRecord {
+    }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+// PageImpl을 그대로 직렬화하면 pageable, sort 등 매 응답마다 같은 메타데이터가 길게 붙는다.
+// 클라이언트에 필요한 content, 다음 페이지 커서, 전체 건수만 내려주는 응답 형식
+// total이 추정치면 totalExact = false, 건수를 세지 않았으면 total = null (CountMode)
+public record PageEnvelope<T>(List<T> content, String nextCursor, Long total, boolean totalExact) {
+
+    public static <T> PageEnvelope<T> of(Page<T> page) {
+        String nextCursor = page.hasNext() ? String.valueOf(page.getNumber() + 1) : null;  // 다음 페이지 번호
+        return new PageEnvelope<>(page.getContent(), nextCursor, page.getTotalElements(), true);
+    }
+
+    public static <T> PageEnvelope<T> of(CountedPage<T> page) {
+        String nextCursor = page.hasNext() ? String.valueOf(page.pageable().getPageNumber() + 1) : null;
+        return new PageEnvelope<>(page.content(), nextCursor, page.total(), page.totalExact());
+    }
+}
@@ -0,0 +1,5 @@
+package study.querydsl.dto;
+
+// 자동완성 후보. count = 같은 값을 가진 회원(팀) 수
+public record Suggestion(String value, long count) {
+}
@@ -0,0 +1,9 @@
+package study.querydsl.dto;
+
+// 회원명 검색 방식
+public enum UsernameMatch {
+    EXACT,      // 일치 (기본값)
+    PREFIX,     // 앞부분 일치, username 인덱스를 타는 'x%' 형태의 like
+    CONTAINS,   // 부분 일치, 인메모리 trigram 인덱스 사용 (대소문자 무시)
+    FUZZY       // 유사 검색, 인메모리 trigram 인덱스의 유사도 사용 (대소문자 무시)
+}
@@ -0,0 +1,29 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 오랫동안 활동이 없어 member 테이블에서 옮겨진 회원 (MemberArchiveService)
+// member 테이블을 활성 회원만큼의 크기로 유지하기 위해 따로 보관한다. 원래 회원 id를 그대로 사용한다.
+// 팀은 삭제될 수 있으므로 외래키 없이 id만 보관한다.
+@Entity
+@Table(name = "member_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "username", "age", "teamId"})
+public class ArchivedMember {
+
+    @Id
+    @Column(name = "member_id")
+    private Long id;
+    private String username;
+    private int age;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    private LocalDateTime lastActiveAt;
+    private LocalDateTime archivedAt;
+}
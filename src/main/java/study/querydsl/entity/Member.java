@@ -3,10 +3,16 @@ package study.querydsl.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // 기본 생성자를 protected로 생성
 @ToString(of = {"id", "username", "age"}) // 연관관계 필드는 제외, 연관관계 필드는 주로 toString을 호출하면 무한 루프에 걸릴 수 있음
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),          // 회원명 일치/앞부분 일치 검색용
+        @Index(name = "idx_member_last_active_at", columnList = "last_active_at") // 비활성 회원 보관(MemberArchiveService)용
+})
 public class Member {
 
     @Id @GeneratedValue
@@ -19,6 +25,8 @@ public class Member {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    private LocalDateTime lastActiveAt;     // 마지막 활동 시각, 오래되면 member_archive로 옮겨진다. (MemberArchiveService.recordActivity)
+
     public Member(String username) {
         this(username, 0, null);
     }
@@ -39,4 +47,11 @@ public class Member {
         this.team = team;
         team.getMembers().add(this);
     }
+
+    @PrePersist
+    void prePersist() {
+        if (lastActiveAt == null) {
+            lastActiveAt = LocalDateTime.now();     // 가입 시점을 첫 활동으로 본다.
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 비동기 적재(MemberIngestService) 중 저장에 실패한 회원 생성 요청을 보관하는 엔티티
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "username", "age", "teamId", "reason"})
+public class MemberIngestFailure {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private String username;
+    private int age;
+    private Long teamId;
+
+    @Column(length = 1000)
+    private String reason;
+
+    private LocalDateTime failedAt;
+
+    public MemberIngestFailure(String username, int age, Long teamId, String reason) {
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.reason = reason != null && reason.length() > 1000 ? reason.substring(0, 1000) : reason;
+        this.failedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 회원 검색용 비정규화 읽기 테이블 (CQRS 읽기 모델), MemberTeamDto와 같은 컬럼
+// member left join team 결과를 미리 저장해두고 join 없이 한 테이블의 인덱스로 검색한다.
+// member/team 변경이 커밋될 때마다 MemberTeamReadModelUpdater가 갱신한다. 직접 수정하지 않는다.
+@Entity
+@Table(name = "member_team_read", indexes = {
+        @Index(name = "idx_member_team_read_username", columnList = "username"),
+        @Index(name = "idx_member_team_read_team_name_age", columnList = "team_name, age"),
+        @Index(name = "idx_member_team_read_age", columnList = "age")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class MemberTeamReadModel {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+    private String username;
+    private int age;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "team_name")
+    private String teamName;
+}
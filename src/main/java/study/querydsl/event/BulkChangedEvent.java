@@ -0,0 +1,9 @@
+package study.querydsl.event;
+
+// 벌크 연산(update/delete execute()) 이벤트. 벌크 연산은 영속성 컨텍스트와 엔티티 이벤트를 거치지 않기 때문에
+// 바뀐 row를 하나씩 전달하지 않고, 대상 엔티티와 변경 건수, 바뀐 범위만 전달한다.
+// condition: 벌크 연산의 where 조건 (예: "member.age >= 10"), 조건 없이 테이블 전체면 null
+// minId, maxId: 바뀐 row의 id 범위 (양 끝 포함), id를 알 수 없으면 null
+public record BulkChangedEvent(String entityName, ChangeType type, long affectedRows,
+                               String condition, Long minId, Long maxId) {
+}
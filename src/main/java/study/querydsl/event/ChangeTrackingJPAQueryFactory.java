@@ -0,0 +1,75 @@
+package study.querydsl.event;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+// 벌크 연산은 Hibernate 엔티티 이벤트가 발생하지 않으므로, execute() 시점에 BulkChangedEvent를 대신 발행하는 JPAQueryFactory
+// 바뀐 row의 id는 알 수 없으므로 where 조건을 변경 범위로 함께 보낸다.
+public class ChangeTrackingJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChangeTrackingJPAQueryFactory(EntityManager em, ApplicationEventPublisher eventPublisher) {
+        super(em);
+        this.em = em;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        BooleanBuilder condition = new BooleanBuilder();
+        return new JPAUpdateClause(em, path) {
+            @Override
+            public JPAUpdateClause where(Predicate... o) {
+                and(condition, o);
+                return super.where(o);
+            }
+
+            @Override
+            public long execute() {
+                long affected = super.execute();
+                publish(path, ChangeType.UPDATED, affected, condition);
+                return affected;
+            }
+        };
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        BooleanBuilder condition = new BooleanBuilder();
+        return new JPADeleteClause(em, path) {
+            @Override
+            public JPADeleteClause where(Predicate... o) {
+                and(condition, o);
+                return super.where(o);
+            }
+
+            @Override
+            public long execute() {
+                long affected = super.execute();
+                publish(path, ChangeType.DELETED, affected, condition);
+                return affected;
+            }
+        };
+    }
+
+    private static void and(BooleanBuilder condition, Predicate... predicates) {
+        for (Predicate predicate : predicates) {
+            condition.and(predicate);   // null은 무시된다.
+        }
+    }
+
+    private void publish(EntityPath<?> path, ChangeType type, long affected, BooleanBuilder condition) {
+        if (affected > 0) {
+            String range = condition.hasValue() ? condition.toString() : null;
+            eventPublisher.publishEvent(new BulkChangedEvent(path.getType().getSimpleName(), type, affected, range, null, null));
+        }
+    }
+}
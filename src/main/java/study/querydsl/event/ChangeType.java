@@ -0,0 +1,5 @@
+package study.querydsl.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
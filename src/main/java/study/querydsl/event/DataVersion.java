@@ -0,0 +1,43 @@
+package study.querydsl.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원/팀 데이터의 버전. 커밋된 변경(단건, 벌크)이 있을 때마다 1씩 증가한다.
+// 버전이 같으면 조회 결과도 같다고 보고 ETag, 조회 결과 캐시의 키로 사용한다.
+// 버전은 프로세스마다 0부터 시작하므로, 프로세스 밖으로 나가는 값(ETag 등)에는 epoch를 같이 넣어야 한다.
+@Component
+public class DataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 이 프로세스의 버전 번호 공간을 구분하는 값. 재시작하거나 다른 인스턴스면 같은 버전 번호라도 epoch가 다르다.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
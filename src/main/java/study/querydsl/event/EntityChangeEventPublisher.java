@@ -0,0 +1,100 @@
+package study.querydsl.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// Hibernate의 insert/update/delete 이벤트를 받아서 MemberChangedEvent, TeamChangedEvent로 발행한다.
+// flush 시점에 호출되므로, 이벤트를 받는 쪽은 @TransactionalEventListener로 커밋 이후에 반영해야 한다.
+@Component
+@RequiredArgsConstructor
+public class EntityChangeEventPublisher
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            eventPublisher.publishEvent(new MemberChangedEvent(
+                    ChangeType.CREATED, member.getId(), null, MemberSnapshot.of(member)));
+        } else if (event.getEntity() instanceof Team team) {
+            eventPublisher.publishEvent(new TeamChangedEvent(
+                    ChangeType.CREATED, team.getId(), null, team.getName()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.UPDATED, member.getId(),
+                    memberSnapshot(event.getOldState(), event.getPersister()), MemberSnapshot.of(member)));
+        } else if (event.getEntity() instanceof Team team) {
+            Object oldName = property(event.getOldState(), event.getPersister(), "name");
+            eventPublisher.publishEvent(new TeamChangedEvent(
+                    ChangeType.UPDATED, team.getId(), (String) oldName, team.getName()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.DELETED, member.getId(),
+                    memberSnapshot(event.getDeletedState(), event.getPersister()), null));
+        } else if (event.getEntity() instanceof Team team) {
+            Object oldName = property(event.getDeletedState(), event.getPersister(), "name");
+            eventPublisher.publishEvent(new TeamChangedEvent(
+                    ChangeType.DELETED, team.getId(), (String) oldName, null));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // 변경 전 상태는 엔티티가 아니라 persister의 프로퍼티 순서대로 담긴 배열로 넘어온다.
+    private static MemberSnapshot memberSnapshot(Object[] state, EntityPersister persister) {
+        if (state == null) {
+            return null;    // 준영속 엔티티를 merge한 경우 등 이전 상태를 알 수 없을 때
+        }
+        Object team = property(state, persister, "team");
+        Object age = property(state, persister, "age");
+        return new MemberSnapshot(
+                (String) property(state, persister, "username"),
+                age != null ? (Integer) age : 0,
+                team != null ? ((Team) team).getId() : null);
+    }
+
+    private static Object property(Object[] state, EntityPersister persister, String name) {
+        if (state == null) {
+            return null;
+        }
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
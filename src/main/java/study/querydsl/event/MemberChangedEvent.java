@@ -0,0 +1,5 @@
+package study.querydsl.event;
+
+// 회원 한 건의 변경 이벤트. CREATED면 before가, DELETED면 after가 null이다.
+public record MemberChangedEvent(ChangeType type, Long memberId, MemberSnapshot before, MemberSnapshot after) {
+}
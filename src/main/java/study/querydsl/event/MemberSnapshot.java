@@ -0,0 +1,13 @@
+package study.querydsl.event;
+
+import study.querydsl.entity.Member;
+
+// 변경 시점의 회원 값. 엔티티를 그대로 넘기지 않고 필요한 값만 복사해서 트랜잭션 밖에서도 안전하게 사용한다.
+public record MemberSnapshot(String username, int age, Long teamId) {
+
+    public static MemberSnapshot of(Member member) {
+        // 팀이 프록시여도 getId()는 초기화 없이 식별자를 반환한다.
+        return new MemberSnapshot(member.getUsername(), member.getAge(),
+                member.getTeam() != null ? member.getTeam().getId() : null);
+    }
+}
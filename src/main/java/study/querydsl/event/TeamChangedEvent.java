@@ -0,0 +1,5 @@
+package study.querydsl.event;
+
+// 팀 한 건의 변경 이벤트. CREATED면 beforeName이, DELETED면 afterName이 null이다.
+public record TeamChangedEvent(ChangeType type, Long teamId, String beforeName, String afterName) {
+}
@@ -0,0 +1,10 @@
+package study.querydsl.outbox;
+
+import java.util.List;
+
+// outbox 메시지를 외부로 내보내는 broker (Kafka 등)
+// publish가 예외 없이 끝나면 발행된 것으로 보고 outbox 행에 표시한다. 실패하면 다음 주기에 같은 배치를 다시 보낸다.
+public interface ChangeEventBroker {
+
+    void publish(List<OutboxMessage> messages);
+}
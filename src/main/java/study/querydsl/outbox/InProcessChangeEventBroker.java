@@ -0,0 +1,25 @@
+package study.querydsl.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 외부 broker 대신 같은 애플리케이션 안에서 OutboxMessage를 스프링 이벤트로 발행한다. (로컬, 테스트용 기본 broker)
+// 받는 쪽은 @EventListener(OutboxMessage)로 구독한다.
+@Component
+@ConditionalOnProperty(name = "member.outbox.broker", havingValue = "in-process", matchIfMissing = true)
+public class InProcessChangeEventBroker implements ChangeEventBroker {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessChangeEventBroker(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,32 @@
+package study.querydsl.outbox;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// 변경 이벤트 outbox 테이블. 데이터 변경과 같은 트랜잭션에서 저장되고(OutboxWriter), OutboxRelay가 발행한다.
+// 행은 OutboxWriter가 JDBC로 직접 넣는다. (flush 도중에 호출되므로 영속성 컨텍스트를 쓸 수 없음) 엔티티는 스키마 정의와 조회용
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_published_at", columnList = "published_at, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "aggregateType", "aggregateId", "eventType", "publishedAt"})
+public class OutboxEvent {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)    // insert 시점에 매겨지는 증가 id, 커밋 순서와는 다를 수 있다.
+    private Long id;
+
+    private String aggregateType;   // Member, Team
+    private Long aggregateId;       // 벌크 변경(range 이벤트)이면 null, 범위는 payload의 condition, minId, maxId
+    private String eventType;       // MemberChanged, TeamChanged, BulkChanged
+
+    @Column(length = 2000)
+    private String payload;         // 이벤트 JSON
+
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+}
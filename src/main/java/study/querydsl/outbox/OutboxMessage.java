@@ -0,0 +1,8 @@
+package study.querydsl.outbox;
+
+import java.time.LocalDateTime;
+
+// broker로 전달되는 outbox 행. id는 중복 제거 키다. (at-least-once 발행, 순서는 보장하지 않는다.)
+public record OutboxMessage(long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
@@ -0,0 +1,127 @@
+package study.querydsl.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 아직 발행되지 않은 outbox 행을 id 순으로 batchSize개씩 읽어서 ChangeEventBroker로 발행한다.
+// 발행에 성공한 배치만 published_at을 기록하므로 발행은 at-least-once이고, 받는 쪽은 OutboxMessage.id로 중복을 걸러야 한다.
+// 배치는 select ... for update skip locked로 잡으므로 여러 인스턴스가 relay해도 같은 행을 동시에 발행하지 않는다.
+// 순서는 보장하지 않는다. id는 insert 시점에 매겨지므로 먼저 insert 되었지만 늦게 커밋된 행은 더 큰 id보다 나중에 발행될 수 있고,
+// 여러 인스턴스의 배치도 서로 순서 없이 나간다. 받는 쪽은 이벤트 순서에 기대지 말고 aggregate의 현재 상태를 다시 읽어야 한다.
+// 발행된 행은 member.outbox.retention-hours가 지나면 삭제한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeEventBroker broker;
+    private final int batchSize;
+    private final long retentionHours;
+    private final ScheduledExecutorService relay;
+
+    public OutboxRelay(NamedParameterJdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       ChangeEventBroker broker,
+                       @Value("${member.outbox.batch-size:500}") int batchSize,
+                       @Value("${member.outbox.interval-ms:500}") long intervalMs,
+                       @Value("${member.outbox.retention-hours:24}") long retentionHours,
+                       @Value("${member.outbox.prune-interval-ms:3600000}") long pruneIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.broker = broker;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay.scheduleWithFixedDelay(this::relayQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        relay.scheduleWithFixedDelay(this::pruneQuietly, pruneIntervalMs, pruneIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 발행 대기 중인 행을 모두 발행하고, 발행한 건수를 반환한다.
+     * 다른 인스턴스가 잡고 있는 행은 건너뛴다.
+     */
+    public synchronized long relay() {
+        long total = 0;
+        int relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    /**
+     * 보관 기간이 지난 발행된 행을 삭제하고, 삭제한 건수를 반환한다.
+     */
+    public int prune() {
+        return jdbcTemplate.update("delete from outbox_event where published_at < :cutoff",
+                new MapSqlParameterSource("cutoff", LocalDateTime.now().minusHours(retentionHours)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relay.shutdown();
+    }
+
+    // 배치 하나를 잡아서 발행하고 published_at을 기록한다. 발행이 실패하면 롤백되어 잠금이 풀리고 다음 주기에 다시 보낸다.
+    private int relayBatch() {
+        List<OutboxMessage> batch = jdbcTemplate.query(
+                "select id, aggregate_type, aggregate_id, event_type, payload, created_at from outbox_event" +
+                        " where published_at is null order by id limit :limit for update skip locked",
+                new MapSqlParameterSource("limit", batchSize),
+                (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong("id"),
+                        rs.getString("aggregate_type"),
+                        rs.getObject("aggregate_id", Long.class),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getObject("created_at", LocalDateTime.class)));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        broker.publish(batch);
+        jdbcTemplate.update("update outbox_event set published_at = :now where id in (:ids)",
+                new MapSqlParameterSource("now", LocalDateTime.now())
+                        .addValue("ids", batch.stream().map(OutboxMessage::id).toList()));
+        return batch.size();
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("outbox relay failed, retrying next interval", e);
+        }
+    }
+
+    private void pruneQuietly() {
+        try {
+            int pruned = prune();
+            if (pruned > 0) {
+                log.info("pruned {} published outbox events", pruned);
+            }
+        } catch (RuntimeException e) {
+            log.warn("outbox prune failed, retrying next interval", e);
+        }
+    }
+}
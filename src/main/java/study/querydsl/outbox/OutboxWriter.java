@@ -0,0 +1,73 @@
+package study.querydsl.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+import java.time.LocalDateTime;
+
+// 회원/팀 변경 이벤트를 outbox 테이블에 저장한다. member.outbox.enabled=true일 때만 동작한다.
+// @TransactionalEventListener가 아닌 @EventListener로 받아서, 변경을 flush하는 트랜잭션 안에서 같은 커넥션으로 저장한다.
+// 데이터 변경이 롤백되면 outbox 행도 같이 롤백되고, 커밋되면 반드시 outbox 행도 남는다.
+// 벌크 연산은 row 하나하나를 알 수 없으므로 aggregateId 없이 범위 이벤트(range 이벤트)로 저장한다.
+// 범위는 BulkChangedEvent의 condition(where 조건), minId/maxId(id 범위)로 payload에 담긴다. 둘 다 없으면 테이블 전체
+// 트랜잭션 밖에서 발행된 벌크 이벤트는 이미 커밋된 변경의 알림이므로 저장하지 않는다. (autocommit으로 저장하면 변경과 같이 커밋된다는 보장이 없다)
+// 여러 트랜잭션에 나눠서 바꾸는 작업(MemberArchiveService)은 트랜잭션마다 writeBulk()로 직접 저장하고, 끝난 뒤 알림만 발행한다.
+@Component
+@ConditionalOnProperty(name = "member.outbox.enabled", havingValue = "true")
+public class OutboxWriter {
+
+    private static final String INSERT = "insert into outbox_event (aggregate_type, aggregate_id, event_type, payload, created_at)" +
+            " values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        write("Member", event.memberId(), "MemberChanged", event);
+    }
+
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        write("Team", event.teamId(), "TeamChanged", event);
+    }
+
+    @EventListener
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            writeBulk(event);
+        }
+    }
+
+    /**
+     * 벌크 변경의 range 이벤트를 저장한다. 변경과 같은 트랜잭션 안에서 호출해야 한다.
+     */
+    public void writeBulk(BulkChangedEvent event) {
+        write(event.entityName(), null, "BulkChanged", event);
+    }
+
+    private void write(String aggregateType, Long aggregateId, String eventType, Object event) {
+        jdbcTemplate.update(INSERT, aggregateType, aggregateId, eventType, toJson(event), LocalDateTime.now());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize change event " + event, e);
+        }
+    }
+}
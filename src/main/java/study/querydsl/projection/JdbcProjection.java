@@ -0,0 +1,91 @@
+package study.querydsl.projection;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// ResultSet의 한 row를 DTO 생성자로 바로 변환하는 RowMapper
+// Projections.bean/fields/constructor는 row마다 리플렉션 호출과 Object[]/Tuple을 거치지만,
+// 여기서는 생성 시점에 "컬럼 읽기 -> 생성자 호출"을 하나의 MethodHandle로 묶어두고 row마다 invokeExact만 한다.
+// (핸들은 인스턴스 필드라서 JIT이 상수로 접지는 않는다. row마다 리플렉션/Object[] 없이 핸들 호출 한 번이 드는 정도)
+public final class JdbcProjection<T> implements RowMapper<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private final Class<T> type;
+    private final MethodHandle factory;     // (ResultSet)Object
+
+    private JdbcProjection(Class<T> type, MethodHandle factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /**
+     * type의 public 생성자로 변환한다. i번째 생성자 파라미터에는 i번째 컬럼이 들어간다.
+     */
+    public static <T> JdbcProjection<T> constructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            MethodHandle constructor = LOOKUP.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+
+            // (P1, P2, ...) -> (ResultSet, ResultSet, ...) : 각 파라미터를 해당 컬럼을 읽는 핸들로 치환
+            MethodHandle[] readers = new MethodHandle[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                readers[i] = columnReader(parameterTypes[i], i + 1);
+            }
+            MethodHandle filtered = MethodHandles.filterArguments(constructor, 0, readers);
+
+            // (ResultSet, ResultSet, ...) -> (ResultSet) : 모든 인자에 같은 ResultSet을 넘긴다.
+            MethodHandle single = MethodHandles.permuteArguments(filtered,
+                    MethodType.methodType(type, ResultSet.class), new int[parameterTypes.length]);
+
+            return new JdbcProjection<>(type, single.asType(MethodType.methodType(Object.class, ResultSet.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("no accessible constructor for " + type.getName(), e);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        try {
+            Object row = factory.invokeExact(rs);
+            return (T) row;
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // (ResultSet) -> parameterType, primitive는 boxing 없이 getInt/getLong으로 읽는다.
+    private static MethodHandle columnReader(Class<?> parameterType, int column)
+            throws NoSuchMethodException, IllegalAccessException {
+        MethodHandle getter;
+        if (parameterType == int.class) {
+            getter = LOOKUP.findVirtual(ResultSet.class, "getInt", MethodType.methodType(int.class, int.class));
+        } else if (parameterType == long.class) {
+            getter = LOOKUP.findVirtual(ResultSet.class, "getLong", MethodType.methodType(long.class, int.class));
+        } else if (parameterType == double.class) {
+            getter = LOOKUP.findVirtual(ResultSet.class, "getDouble", MethodType.methodType(double.class, int.class));
+        } else if (parameterType == boolean.class) {
+            getter = LOOKUP.findVirtual(ResultSet.class, "getBoolean", MethodType.methodType(boolean.class, int.class));
+        } else if (parameterType == String.class) {
+            getter = LOOKUP.findVirtual(ResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+        } else {
+            // 참조 타입(Long, Integer, LocalDateTime 등)은 null을 유지하도록 getObject(column, type)으로 읽는다.
+            MethodHandle getObject = LOOKUP.findVirtual(ResultSet.class, "getObject",
+                    MethodType.methodType(Object.class, int.class, Class.class));
+            return MethodHandles.insertArguments(getObject, 1, column, parameterType)
+                    .asType(MethodType.methodType(parameterType, ResultSet.class));
+        }
+        return MethodHandles.insertArguments(getter, 1, column);
+    }
+}
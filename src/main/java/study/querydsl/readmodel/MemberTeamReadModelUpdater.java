@@ -0,0 +1,89 @@
+package study.querydsl.readmodel;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+// member_team_read 읽기 테이블(MemberTeamReadModel)을 커밋된 회원/팀 변경과 동기화한다.
+// member.read-model.enabled=true일 때만 동작한다.
+// - 커밋 직후 같은 스레드에서 새 트랜잭션(REQUIRES_NEW)으로 반영하므로, 변경 요청이 끝나면 읽기 테이블에도 보인다.
+// - 회원 저장/수정: H2 MERGE(upsert), 팀 이름은 team 테이블에서 가져온다.
+// - 팀 이름 변경: 해당 팀 회원들의 team_name을 한 번에 갱신
+// - 벌크 연산: 어떤 row가 바뀌었는지 알 수 없으므로 전체를 다시 만든다.
+@Component
+@ConditionalOnProperty(name = "member.read-model.enabled", havingValue = "true")
+public class MemberTeamReadModelUpdater {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public MemberTeamReadModelUpdater(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMemberChanged(MemberChangedEvent event) {
+        requiresNew.executeWithoutResult(status -> {
+            if (event.type() == ChangeType.DELETED) {
+                jdbcTemplate.update("delete from member_team_read where member_id = :memberId",
+                        new MapSqlParameterSource("memberId", event.memberId()));
+                return;
+            }
+            jdbcTemplate.update("merge into member_team_read (member_id, username, age, team_id, team_name) key (member_id)" +
+                            " values (:memberId, :username, :age, :teamId, (select name from team where id = :teamId))",
+                    new MapSqlParameterSource("memberId", event.memberId())
+                            .addValue("username", event.after().username())
+                            .addValue("age", event.after().age())
+                            .addValue("teamId", event.after().teamId()));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTeamChanged(TeamChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            return;     // 새 팀에는 아직 회원이 없다.
+        }
+        requiresNew.executeWithoutResult(status -> {
+            if (event.type() == ChangeType.DELETED) {
+                jdbcTemplate.update("update member_team_read set team_id = null, team_name = null where team_id = :teamId",
+                        new MapSqlParameterSource("teamId", event.teamId()));
+            } else {
+                jdbcTemplate.update("update member_team_read set team_name = :teamName where team_id = :teamId",
+                        new MapSqlParameterSource("teamId", event.teamId()).addValue("teamName", event.afterName()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        if ("Member".equals(event.entityName()) || "Team".equals(event.entityName())) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        requiresNew.executeWithoutResult(status -> {
+            jdbcTemplate.getJdbcTemplate().update("delete from member_team_read");
+            jdbcTemplate.getJdbcTemplate().update("insert into member_team_read (member_id, username, age, team_id, team_name)" +
+                    " select m.member_id, m.username, m.age, t.id, t.name from member m left join team t on m.team_id = t.id");
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.SimpleExpression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// in절 파라미터 목록 처리
+// 목록 길이가 바뀔 때마다 SQL 문자열이 달라져서 Hibernate query plan 캐시와 prepared statement 캐시를 재사용하지 못한다.
+// - 중복을 제거하고 길이를 2의 거듭제곱으로 맞춘다. (마지막 값을 반복, 1~1024개 -> SQL 11가지)
+// - MAX_PARAMETERS보다 길면 MAX_PARAMETERS개씩 나눠서 or로 묶는다. (DB별 in절/바인딩 파라미터 수 제한)
+public final class InClauses {
+
+    static final int MAX_PARAMETERS = 1024;
+
+    private InClauses() {
+    }
+
+    /**
+     * 값이 없으면 null (조건 없음)을 반환한다. 빈 목록을 항상 거짓으로 처리해야 하면 호출하는 쪽에서 처리한다.
+     */
+    public static <T> BooleanExpression in(SimpleExpression<T> path, Collection<? extends T> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.size() <= MAX_PARAMETERS) {
+            return path.in(padded(distinct));
+        }
+
+        List<BooleanExpression> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_PARAMETERS) {
+            List<T> chunk = distinct.subList(from, Math.min(from + MAX_PARAMETERS, distinct.size()));
+            chunks.add(path.in(padded(chunk)));
+        }
+        return Expressions.anyOf(chunks.toArray(BooleanExpression[]::new));
+    }
+
+    /**
+     * 길이를 2의 거듭제곱으로 늘린 목록 (마지막 값을 반복)
+     */
+    public static <T> List<T> padded(List<T> values) {
+        int size = values.size();
+        if (size <= 1 || Integer.bitCount(size) == 1) {
+            return values;
+        }
+        int paddedSize = Integer.highestOneBit(size) << 1;
+        List<T> result = new ArrayList<>(paddedSize);
+        result.addAll(values);
+        T last = values.get(size - 1);
+        while (result.size() < paddedSize) {
+            result.add(last);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package study.querydsl.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.projection.JdbcProjection;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.util.CollectionUtils.isEmpty;
+import static org.springframework.util.StringUtils.hasText;
+
+// 읽기 전용 DTO 조회를 JPA(영속성 컨텍스트, Tuple, 리플렉션 projection)를 거치지 않고 JDBC로 바로 처리하는 Repository
+// 대량 조회에서 row당 생성되는 객체를 DTO 하나로 줄이는 것이 목적이다.
+@Repository
+public class MemberJdbcRepository {
+
+    private static final JdbcProjection<MemberTeamDto> MEMBER_TEAM_DTO = JdbcProjection.constructor(
+            MemberTeamDto.class, Long.class, String.class, int.class, Long.class, String.class);
+
+    private static final JdbcProjection<MemberDto> MEMBER_DTO = JdbcProjection.constructor(
+            MemberDto.class, String.class, int.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MemberJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "select m.member_id, m.username, m.age, t.id, t.name" +
+                " from member m left join team t on m.team_id = t.id" +
+                where(condition, params);
+        return jdbcTemplate.query(sql, params, MEMBER_TEAM_DTO);
+    }
+
+    // 팀 컬럼을 select하지 않으므로 팀명 조건이 있을 때만 team을 join한다.
+    // (team.id가 PK라서 left join은 row 수를 바꾸지 않는다.)
+    public List<MemberDto> searchMemberDto(MemberSearchCondition condition) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        boolean joinTeam = hasText(condition.getTeamName()) || !isEmpty(condition.getTeamNames());
+        String sql = "select m.username, m.age" +
+                " from member m" + (joinTeam ? " left join team t on m.team_id = t.id" : "") +
+                where(condition, params);
+        return jdbcTemplate.query(sql, params, MEMBER_DTO);
+    }
+
+    // MemberRepositoryImpl과 같은 검색 조건을 SQL 문자열로 만든다. (ShardedMemberRepository에서도 사용)
+    static String where(MemberSearchCondition condition, MapSqlParameterSource params) {
+        List<String> conditions = MemberSearchPredicates.conditions(condition, new SqlDialect(params));
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    // member m, team t 별칭 기준의 SQL 조건, 값은 params에 바인딩한다.
+    private record SqlDialect(MapSqlParameterSource params) implements MemberSearchPredicates.Dialect<String> {
+
+        @Override
+        public String usernameEq(String username) {
+            params.addValue("username", username);
+            return "m.username = :username";
+        }
+
+        @Override
+        public String usernameStartsWith(String username) {
+            params.addValue("username", escapeLike(username) + "%");
+            return "m.username like :username escape '!'";
+        }
+
+        @Override
+        public String usernameContains(String username) {
+            params.addValue("username", "%" + escapeLike(username.toLowerCase(Locale.ROOT)) + "%");
+            return "lower(m.username) like :username escape '!'";
+        }
+
+        @Override
+        public String teamNameEq(String teamName) {
+            params.addValue("teamName", teamName);
+            return "t.name = :teamName";
+        }
+
+        @Override
+        public String teamNameIn(List<String> teamNames) {
+            // NamedParameterJdbcTemplate이 목록 길이만큼 ?를 펼치므로 길이를 맞춰서 SQL 종류를 줄인다.
+            params.addValue("teamNames", InClauses.padded(List.copyOf(new LinkedHashSet<>(teamNames))));
+            return "t.name in (:teamNames)";
+        }
+
+        @Override
+        public String ageGoe(int ageGoe) {
+            params.addValue("ageGoe", ageGoe);
+            return "m.age >= :ageGoe";
+        }
+
+        @Override
+        public String ageLoe(int ageLoe) {
+            params.addValue("ageLoe", ageLoe);
+            return "m.age <= :ageLoe";
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -1,23 +1,19 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.search.MemberSearchIndexSynchronizer;
 
 import java.util.List;
 import java.util.Optional;
 
-import static org.springframework.util.StringUtils.*;
-import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
@@ -25,12 +21,18 @@ import static study.querydsl.entity.QTeam.team;
 @Repository
 public class MemberJpaRepository {
 
+    private static final MemberSearchPredicates.Columns COLUMNS =
+            new MemberSearchPredicates.Columns(member.username, member.age, team.name);
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final ObjectProvider<MemberSearchIndexSynchronizer> searchIndex;
 
-    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
+    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory,
+                               ObjectProvider<MemberSearchIndexSynchronizer> searchIndex) {
         this.em = em;
         this.queryFactory = queryFactory;
+        this.searchIndex = searchIndex;
     }
 
     public void save(Member member) {
@@ -68,19 +70,8 @@ public class MemberJpaRepository {
 
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
 
-        BooleanBuilder builder = new BooleanBuilder();
-        if (hasText(condition.getUserName())) {     // String값이 null이나 ""이 들어올 수 있는데, 그 때 hasText는 false를 반환한다.
-            builder.and(member.username.eq(condition.getUserName()));
-        }
-        if (hasText(condition.getTeamName())) {
-            builder.and(team.name.eq(condition.getTeamName()));
-        }
-        if (condition.getAgeGoe() != null) {
-            builder.and(member.age.goe(condition.getAgeGoe()));
-        }
-        if (condition.getAgeLoe() != null) {
-            builder.and(member.age.loe(condition.getAgeLoe()));
-        }
+        // 값이 있는 조건만 BooleanBuilder에 and로 쌓는다. (null이나 ""인 조건은 건너뜀, 회원명 일치 방식은 usernameMatch)
+        BooleanBuilder builder = MemberSearchPredicates.where(condition, COLUMNS);
 
         return queryFactory
                 .select(new QMemberTeamDto(
@@ -96,6 +87,15 @@ public class MemberJpaRepository {
     }
 
     public List<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
+        // 인메모리 인덱스가 켜져 있으면 먼저 인덱스로 조회 (member.search-index.enabled)
+        MemberSearchIndexSynchronizer index = searchIndex.getIfAvailable();
+        if (index != null) {
+            Optional<List<MemberTeamDto>> result = index.search(condition);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -105,30 +105,7 @@ public class MemberJpaRepository {
                         team.name.as("teamName")))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUserName()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(MemberSearchPredicates.where(condition, COLUMNS))     // 다른 Repository와 같은 조건 (usernameMatch 포함)
                 .fetch();
     }
-
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
-    }
-
-
 }
@@ -0,0 +1,102 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRecord;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.QMemberTeamRecord;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMemberTeamReadModel.memberTeamReadModel;
+
+// 비정규화 읽기 테이블(member_team_read)로 검색하는 Repository, join 없이 한 테이블만 조회한다.
+// member.read-model.enabled=true일 때만 읽기 테이블이 갱신되므로(MemberTeamReadModelUpdater) 그때만 등록된다.
+// 등록되어 있으면 MemberRepository의 검색(search, 페이징 검색)도 member join team 대신 이 테이블을 조회한다.
+@Repository
+@ConditionalOnProperty(name = "member.read-model.enabled", havingValue = "true")
+public class MemberReadModelRepository {
+
+    private static final MemberSearchPredicates.Columns COLUMNS = new MemberSearchPredicates.Columns(
+            memberTeamReadModel.username, memberTeamReadModel.age, memberTeamReadModel.teamName);
+
+    private final JPAQueryFactory queryFactory;
+
+    public MemberReadModelRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return selectDto(condition).fetch();
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = selectDto(condition)
+                .orderBy(memberTeamReadModel.memberId.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(memberTeamReadModel.count())
+                .from(memberTeamReadModel)
+                .where(where(condition));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    // keyset 페이징, 읽기 테이블의 PK(member_id)로 lastMemberId 다음부터 찾아간다.
+    public List<MemberTeamDto> searchAfter(MemberSearchCondition condition, Long lastMemberId, int size) {
+        return selectDto(condition)
+                .where(lastMemberId != null ? memberTeamReadModel.memberId.gt(lastMemberId) : null)
+                .orderBy(memberTeamReadModel.memberId.asc())
+                .limit(size)
+                .fetch();
+    }
+
+    // 아래는 MemberRepositoryImpl이 페이징, count 처리를 그대로 하면서 조회 대상만 바꿀 수 있도록 조건까지 건 쿼리를 돌려준다.
+
+    JPAQuery<MemberTeamDto> selectDto(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        memberTeamReadModel.memberId,
+                        memberTeamReadModel.username,
+                        memberTeamReadModel.age,
+                        memberTeamReadModel.teamId,
+                        memberTeamReadModel.teamName))
+                .from(memberTeamReadModel)
+                .where(where(condition));
+    }
+
+    JPAQuery<MemberTeamRecord> selectRecord(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamRecord(
+                        memberTeamReadModel.memberId,
+                        memberTeamReadModel.username,
+                        memberTeamReadModel.age,
+                        memberTeamReadModel.teamId,
+                        memberTeamReadModel.teamName))
+                .from(memberTeamReadModel)
+                .where(where(condition));
+    }
+
+    // count 쿼리용, 조건에 맞는 회원 id
+    JPAQuery<Long> selectId(MemberSearchCondition condition) {
+        return queryFactory
+                .select(memberTeamReadModel.memberId)
+                .from(memberTeamReadModel)
+                .where(where(condition));
+    }
+
+    private static BooleanBuilder where(MemberSearchCondition condition) {
+        return MemberSearchPredicates.where(condition, COLUMNS);
+    }
+}
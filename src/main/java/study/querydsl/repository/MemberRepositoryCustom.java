@@ -2,8 +2,11 @@ package study.querydsl.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.CountMode;
+import study.querydsl.dto.CountedPage;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRecord;
 
 import java.util.List;
 
@@ -13,4 +16,10 @@ public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamRecord> searchPageRecord(MemberSearchCondition condition, Pageable pageable);
+    CountedPage<MemberTeamRecord> searchPageRecord(MemberSearchCondition condition, Pageable pageable, CountMode countMode);
+    List<MemberTeamDto> searchAfter(MemberSearchCondition condition, Long lastMemberId, int size);
+    Page<MemberTeamDto> searchRanked(MemberSearchCondition condition, Pageable pageable);
+    List<MemberTeamDto> findOlderThanAverage();
+    List<MemberTeamDto> findOldestPerTeam();
 }
@@ -1,71 +1,125 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.dto.CountMode;
+import study.querydsl.dto.CountedPage;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRecord;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.QMemberTeamRecord;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.search.AgeStatistics;
+import study.querydsl.search.AgeStatisticsSynchronizer;
+import study.querydsl.search.MemberSearchIndexSynchronizer;
+import study.querydsl.search.UsernameIndexSynchronizer;
+import study.querydsl.search.UsernameNgramIndex;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.function.LongSupplier;
 
+import static org.springframework.util.CollectionUtils.isEmpty;
 import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QArchivedMember.archivedMember;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    // 인메모리 인덱스로 찾은 후보가 이보다 많으면 in절 대신 DB like 검색으로 처리한다.
+    private static final int MAX_INDEX_CANDIDATES = 1000;
+
+    // CountMode.ESTIMATED에서 직접 세는 최대 건수. 이보다 많으면 "최소 이만큼"으로 응답한다.
+    private static final int ESTIMATE_COUNT_CAP = 10_000;
+
+    // 보관 테이블은 팀을 연관관계 대신 team_id로 join하고, 인메모리 인덱스를 사용하지 않는다.
+    private static final MemberSearchPredicates.Columns ARCHIVED_COLUMNS =
+            new MemberSearchPredicates.Columns(archivedMember.username, archivedMember.age, team.name);
+
     private final JPAQueryFactory queryFactory;
+    private final ObjectProvider<UsernameIndexSynchronizer> usernameIndex;
+    private final ObjectProvider<MemberSearchIndexSynchronizer> searchIndex;
+    private final ObjectProvider<AgeStatisticsSynchronizer> ageStatistics;
+    private final TableStatistics tableStatistics;
+    private final ObjectProvider<MemberReadModelRepository> readModel;
+    private final MemberSearchPredicates.Columns memberColumns = new IndexedMemberColumns();
 
-    public MemberRepositoryImpl(JPAQueryFactory queryFactory) { // 빈에 등록된 JPAQueryFactory를 주입받는다.
+    public MemberRepositoryImpl(JPAQueryFactory queryFactory, // 빈에 등록된 JPAQueryFactory를 주입받는다.
+                                ObjectProvider<UsernameIndexSynchronizer> usernameIndex,
+                                ObjectProvider<MemberSearchIndexSynchronizer> searchIndex,
+                                ObjectProvider<AgeStatisticsSynchronizer> ageStatistics,
+                                TableStatistics tableStatistics,
+                                ObjectProvider<MemberReadModelRepository> readModel) {
         this.queryFactory = queryFactory;
+        this.usernameIndex = usernameIndex;
+        this.searchIndex = searchIndex;
+        this.ageStatistics = ageStatistics;
+        this.tableStatistics = tableStatistics;
+        this.readModel = readModel;
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        List<MemberTeamDto> result = searchActive(condition);
+        if (!condition.isIncludeArchived()) {
+            return result;
+        }
+        // 보관 테이블의 회원 id는 member 테이블과 겹치지 않으므로 두 결과를 이어붙이면 union all과 같다.
+        List<MemberTeamDto> all = new ArrayList<>(result);
+        all.addAll(searchArchived(condition));
+        return all;
+    }
+
+    private List<MemberTeamDto> searchActive(MemberSearchCondition condition) {
+        // 인메모리 인덱스가 켜져 있으면 먼저 인덱스로 조회하고, 처리할 수 없을 때만 DB로 조회한다.
+        MemberSearchIndexSynchronizer index = searchIndex.getIfAvailable();
+        if (index != null) {
+            Optional<List<MemberTeamDto>> result = index.search(condition);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+
+        return selectDto(condition).fetch();
+    }
+
+    // 보관된 회원 조회, 팀은 연관관계 대신 team_id로 join한다. (팀 이름 인덱스 등 인메모리 인덱스는 사용하지 않음)
+    private List<MemberTeamDto> searchArchived(MemberSearchCondition condition) {
         return queryFactory
                 .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
+                        archivedMember.id.as("memberId"),
+                        archivedMember.username,
+                        archivedMember.age,
                         team.id.as("teamId"),
                         team.name.as("teamName")))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUserName()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .from(archivedMember)
+                .leftJoin(team).on(archivedMember.teamId.eq(team.id))
+                .where(MemberSearchPredicates.where(condition, ARCHIVED_COLUMNS))
                 .fetch();
     }
 
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUserName()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+        QueryResults<MemberTeamDto> results = selectDto(condition)
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetchResults();
@@ -79,6 +133,94 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = selectDto(condition)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = selectId(condition);
+
+        // 페이징 성능 최적화 기법, count 쿼리가 생략 가능한 경우 생략해서 처리
+//        return PageableExecutionUtils.getPage(content, pageable, () -> countQuery.fetchCount());
+        return PageableExecutionUtils.getPage(content, pageable, countSupplier(condition, countQuery));
+    }
+
+    // searchPageComplex와 같지만 불변 record로 조회한다.
+    @Override
+    public Page<MemberTeamRecord> searchPageRecord(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamRecord> content = selectRecord(condition)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = selectId(condition);
+
+        return PageableExecutionUtils.getPage(content, pageable, countSupplier(condition, countQuery));
+    }
+
+    // searchPageRecord와 같지만 전체 건수를 countMode에 따라 구한다.
+    // pageSize + 1건을 조회해서 count 없이 다음 페이지 여부를 알고, 마지막 페이지면 건수도 바로 계산한다.
+    @Override
+    public CountedPage<MemberTeamRecord> searchPageRecord(MemberSearchCondition condition, Pageable pageable,
+                                                          CountMode countMode) {
+        List<MemberTeamRecord> rows = selectRecord(condition)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .fetch();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<MemberTeamRecord> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        if (!hasNext && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return CountedPage.exact(content, pageable, false, pageable.getOffset() + content.size());
+        }
+
+        JPAQuery<Long> countQuery = selectId(condition);
+
+        return switch (countMode) {
+            case EXACT -> CountedPage.exact(content, pageable, hasNext, countSupplier(condition, countQuery).getAsLong());
+            case ESTIMATED -> estimate(condition, pageable, content, hasNext, countQuery);
+            case NONE -> CountedPage.unknown(content, pageable, hasNext);
+        };
+    }
+
+    // 1. 나이 조건만 있으면 나이 분포로 정확한 건수
+    // 2. 조건이 없으면 테이블 통계의 추정 행 수
+    // 3. 그 외에는 ESTIMATE_COUNT_CAP + 1건까지만 세고, 넘으면 상한을 최소 건수로 응답
+    private <T> CountedPage<T> estimate(MemberSearchCondition condition, Pageable pageable, List<T> content,
+                                        boolean hasNext, JPAQuery<Long> countQuery) {
+        Optional<AgeStatistics> statistics = ageOnlyStatistics(condition);
+        if (statistics.isPresent()) {
+            return CountedPage.exact(content, pageable, hasNext,
+                    statistics.get().count(condition.getAgeGoe(), condition.getAgeLoe()));
+        }
+
+        // 현재 페이지까지 본 건수보다 작은 추정치는 의미가 없다.
+        long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+        if (!hasMatchFilter(condition) && condition.getAgeGoe() == null && condition.getAgeLoe() == null) {
+            OptionalLong rows = tableStatistics.estimatedRowCount("member");
+            if (rows.isPresent()) {
+                return CountedPage.estimated(content, pageable, hasNext, Math.max(rows.getAsLong(), seen));
+            }
+        }
+
+        long counted = countQuery.limit(ESTIMATE_COUNT_CAP + 1L).fetch().size();
+        if (counted <= ESTIMATE_COUNT_CAP) {
+            return CountedPage.exact(content, pageable, hasNext, counted);
+        }
+        return CountedPage.estimated(content, pageable, hasNext, Math.max(ESTIMATE_COUNT_CAP, seen));
+    }
+
+    // 나이대 순위로 정렬해서 페이징한다. 순위 계산과 정렬을 CASE 식으로 DB에서 처리하므로 한 페이지만 조회된다.
+    // 순위: 21~30살(1) -> 0~20살(2) -> 나머지(3), 같은 순위 안에서는 나이 많은 순, memberId 순
+    // (정렬 조건은 항상 이 순서이므로 pageable의 sort는 사용하지 않는다.)
+    // 순위 식과 정렬이 member 컬럼을 쓰므로 읽기 테이블이 있어도 member join team을 조회한다.
+    @Override
+    public Page<MemberTeamDto> searchRanked(MemberSearchCondition condition, Pageable pageable) {
+        NumberExpression<Integer> rank = new CaseBuilder()
+                .when(member.age.between(21, 30)).then(1)
+                .when(member.age.between(0, 20)).then(2)
+                .otherwise(3);
+
         List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -88,12 +230,8 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                         team.name.as("teamName")))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUserName()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(where(condition))
+                .orderBy(rank.asc(), member.age.desc(), member.id.asc())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
@@ -102,31 +240,207 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .select(member)
                 .from(member)
                 .leftJoin(member.team, team)
+                .where(where(condition));
+
+        return PageableExecutionUtils.getPage(content, pageable, countSupplier(condition, countQuery));
+    }
+
+    // keyset 페이징, lastMemberId 다음부터 memberId 순으로 size개를 조회한다. (offset 없이 PK 인덱스로 바로 찾아간다)
+    // lastMemberId가 null이면 처음부터 조회
+    @Override
+    public List<MemberTeamDto> searchAfter(MemberSearchCondition condition, Long lastMemberId, int size) {
+        MemberReadModelRepository readModel = this.readModel.getIfAvailable();
+        if (readModel != null) {
+            return readModel.searchAfter(condition, lastMemberId, size);
+        }
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUserName()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                );
+                        lastMemberId != null ? member.id.gt(lastMemberId) : null,
+                        where(condition)
+                )
+                .orderBy(member.id.asc())
+                .limit(size)
+                .fetch();
+    }
 
-        // 페이징 성능 최적화 기법, count 쿼리가 생략 가능한 경우 생략해서 처리
-//        return PageableExecutionUtils.getPage(content, pageable, () -> countQuery.fetchCount());
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+    // 평균 나이보다 나이가 많은 회원
+    // where age > (select avg(age) ...) 대신 평균을 먼저 한 번만 구해서 상수로 비교한다.
+    // 나이 분포(AgeStatistics)가 켜져 있으면 DB 집계 없이 O(log n)에 평균을 구한다.
+    @Override
+    public List<MemberTeamDto> findOlderThanAverage() {
+        Double average = averageAge();
+        if (average == null) {
+            return List.of();   // 회원이 없음
+        }
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.age.gt(average))
+                .fetch();
+    }
+
+    // 팀별 최고령 회원 (동점이면 모두), 팀이 없는 회원은 제외
+    // 회원마다 같은 팀의 max(age)를 다시 구하는 상관 서브쿼리 대신
+    // 팀별 max(age)를 group by로 한 번만 구하고 (team_id, age) 튜플 in으로 비교한다.
+    @Override
+    public List<MemberTeamDto> findOldestPerTeam() {
+        QMember memberSub = new QMember("memberSub");
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .join(member.team, team)
+                .where(Expressions.list(team.id, member.age).in(
+                        JPAExpressions
+                                .select(memberSub.team.id, memberSub.age.max())
+                                .from(memberSub)
+                                .groupBy(memberSub.team.id)))
+                .fetch();
+    }
+
+    private Double averageAge() {
+        AgeStatisticsSynchronizer synchronizer = ageStatistics.getIfAvailable();
+        Optional<AgeStatistics> statistics = synchronizer != null ? synchronizer.current() : Optional.empty();
+        if (statistics.isPresent()) {
+            return statistics.get().avg(null, null);
+        }
+        return queryFactory
+                .select(member.age.avg())
+                .from(member)
+                .fetchOne();
+    }
+
+    // 나이 조건만 있는 경우에는 나이 분포(Fenwick tree)로 DB 스캔 없이 O(log n)에 count를 구한다.
+    private LongSupplier countSupplier(MemberSearchCondition condition, JPAQuery<?> countQuery) {
+        Optional<AgeStatistics> statistics = ageOnlyStatistics(condition);
+        if (statistics.isPresent()) {
+            return () -> statistics.get().count(condition.getAgeGoe(), condition.getAgeLoe());
+        }
+        return countQuery::fetchCount;
+    }
+
+    private Optional<AgeStatistics> ageOnlyStatistics(MemberSearchCondition condition) {
+        if (hasMatchFilter(condition)) {
+            return Optional.empty();
+        }
+        AgeStatisticsSynchronizer synchronizer = ageStatistics.getIfAvailable();
+        return synchronizer != null ? synchronizer.current() : Optional.empty();
+    }
+
+    // 검색 대상 쿼리, 읽기 테이블(member.read-model.enabled=true)이 있으면 member join team 대신 읽기 테이블을 조회한다.
+    // 정렬, 페이징은 호출하는 쪽에서 붙인다.
+    private JPAQuery<MemberTeamDto> selectDto(MemberSearchCondition condition) {
+        MemberReadModelRepository readModel = this.readModel.getIfAvailable();
+        if (readModel != null) {
+            return readModel.selectDto(condition);
+        }
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(where(condition));
+    }
+
+    private JPAQuery<MemberTeamRecord> selectRecord(MemberSearchCondition condition) {
+        MemberReadModelRepository readModel = this.readModel.getIfAvailable();
+        if (readModel != null) {
+            return readModel.selectRecord(condition);
+        }
+        return queryFactory
+                .select(new QMemberTeamRecord(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(where(condition));
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
+    // count 쿼리용, 조건에 맞는 회원 id
+    private JPAQuery<Long> selectId(MemberSearchCondition condition) {
+        MemberReadModelRepository readModel = this.readModel.getIfAvailable();
+        if (readModel != null) {
+            return readModel.selectId(condition);
+        }
+        return queryFactory
+                .select(member.id)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(where(condition));
     }
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+
+    // 회원명, 팀명 조건이 있는지 (나이 조건 제외)
+    private static boolean hasMatchFilter(MemberSearchCondition condition) {
+        return hasText(condition.getUserName()) || hasText(condition.getTeamName()) || !isEmpty(condition.getTeamNames());
+    }
+
+    private BooleanBuilder where(MemberSearchCondition condition) {
+        return MemberSearchPredicates.where(condition, memberColumns);
+    }
+
+    // member 테이블 검색은 username trigram 인덱스가 켜져 있으면 CONTAINS/FUZZY를 인덱스로 찾은 id in 조건으로 바꾼다.
+    private class IndexedMemberColumns extends MemberSearchPredicates.Columns {
+
+        IndexedMemberColumns() {
+            super(member.username, member.age, team.name);
+        }
+
+        @Override
+        public BooleanExpression usernameContains(String username) {
+            Optional<UsernameNgramIndex> index = currentUsernameIndex();
+            if (index.isPresent()) {
+                Set<Long> ids = index.get().contains(username);
+                if (ids.size() <= MAX_INDEX_CANDIDATES) {
+                    return memberIdIn(ids);
+                }
+            }
+            // 인덱스가 없거나 후보가 너무 많으면 DB에서 직접 찾는다. (full scan)
+            return super.usernameContains(username);
+        }
+
+        @Override
+        public BooleanExpression usernameFuzzy(String username) {
+            Optional<UsernameNgramIndex> index = currentUsernameIndex();
+            if (index.isPresent()) {
+                return memberIdIn(index.get().fuzzy(username, MAX_INDEX_CANDIDATES));
+            }
+            // 인덱스가 없으면 유사도 계산을 할 수 없으므로 부분 일치로 대체한다.
+            return super.usernameFuzzy(username);
+        }
     }
 
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    private Optional<UsernameNgramIndex> currentUsernameIndex() {
+        UsernameIndexSynchronizer synchronizer = usernameIndex.getIfAvailable();
+        return synchronizer != null ? synchronizer.current() : Optional.empty();
     }
 
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    private BooleanExpression memberIdIn(Collection<Long> ids) {
+        return ids.isEmpty() ? member.id.isNull() : InClauses.in(member.id, ids);  // 후보가 없으면 항상 거짓인 조건
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.CollectionUtils.isEmpty;
+import static org.springframework.util.StringUtils.hasText;
+
+// MemberSearchCondition을 검색 조건으로 바꾸는 공통 로직
+// 어떤 값이 있을 때 어떤 조건을 거는지(회원명 일치 방식 기본값 등)는 여기서만 정하고,
+// 각 Repository(JPA, querydsl-sql, 읽기 테이블, JDBC SQL)는 Dialect로 컬럼과 조건 표현 방식만 넘긴다.
+final class MemberSearchPredicates {
+
+    private MemberSearchPredicates() {
+    }
+
+    // 조건 하나를 Repository의 조건 표현(P)으로 만드는 방법
+    interface Dialect<P> {
+
+        P usernameEq(String username);
+
+        P usernameStartsWith(String username);
+
+        // 대소문자를 구분하지 않는 부분 일치
+        P usernameContains(String username);
+
+        // 유사도 인덱스가 없는 Repository는 부분 일치로 대체한다.
+        default P usernameFuzzy(String username) {
+            return usernameContains(username);
+        }
+
+        P teamNameEq(String teamName);
+
+        P teamNameIn(List<String> teamNames);
+
+        P ageGoe(int ageGoe);
+
+        P ageLoe(int ageLoe);
+    }
+
+    static <P> List<P> conditions(MemberSearchCondition condition, Dialect<P> dialect) {
+        List<P> conditions = new ArrayList<>();
+        String username = condition.getUserName();
+        if (hasText(username)) {
+            UsernameMatch match = condition.getUsernameMatch() != null ? condition.getUsernameMatch() : UsernameMatch.EXACT;
+            conditions.add(switch (match) {
+                case EXACT -> dialect.usernameEq(username);
+                case PREFIX -> dialect.usernameStartsWith(username);    // like 'x%' -> username 인덱스 사용
+                case CONTAINS -> dialect.usernameContains(username);
+                case FUZZY -> dialect.usernameFuzzy(username);
+            });
+        }
+        if (hasText(condition.getTeamName())) {
+            conditions.add(dialect.teamNameEq(condition.getTeamName()));
+        }
+        if (!isEmpty(condition.getTeamNames())) {
+            conditions.add(dialect.teamNameIn(condition.getTeamNames()));
+        }
+        if (condition.getAgeGoe() != null) {
+            conditions.add(dialect.ageGoe(condition.getAgeGoe()));
+        }
+        if (condition.getAgeLoe() != null) {
+            conditions.add(dialect.ageLoe(condition.getAgeLoe()));
+        }
+        return conditions;
+    }
+
+    /**
+     * Querydsl(JPA Q-type, querydsl-sql S-type) 경로로 조건을 만든다. 조건이 없으면 빈 BooleanBuilder
+     */
+    static BooleanBuilder where(MemberSearchCondition condition, Columns columns) {
+        BooleanBuilder builder = new BooleanBuilder();
+        for (BooleanExpression expression : conditions(condition, columns)) {
+            builder.and(expression);
+        }
+        return builder;
+    }
+
+    // 검색 조건이 참조하는 Querydsl 컬럼, 회원명 검색을 인덱스로 처리하려면 상속해서 usernameContains/usernameFuzzy를 바꾼다.
+    static class Columns implements Dialect<BooleanExpression> {
+
+        private final StringExpression username;
+        private final NumberExpression<Integer> age;
+        private final StringExpression teamName;
+
+        Columns(StringExpression username, NumberExpression<Integer> age, StringExpression teamName) {
+            this.username = username;
+            this.age = age;
+            this.teamName = teamName;
+        }
+
+        @Override
+        public BooleanExpression usernameEq(String value) {
+            return username.eq(value);
+        }
+
+        @Override
+        public BooleanExpression usernameStartsWith(String value) {
+            return username.startsWith(value);
+        }
+
+        @Override
+        public BooleanExpression usernameContains(String value) {
+            return username.containsIgnoreCase(value);
+        }
+
+        @Override
+        public BooleanExpression teamNameEq(String value) {
+            return teamName.eq(value);
+        }
+
+        @Override
+        public BooleanExpression teamNameIn(List<String> values) {
+            return InClauses.in(teamName, values);
+        }
+
+        @Override
+        public BooleanExpression ageGoe(int value) {
+            return age.goe(value);
+        }
+
+        @Override
+        public BooleanExpression ageLoe(int value) {
+            return age.loe(value);
+        }
+    }
+}
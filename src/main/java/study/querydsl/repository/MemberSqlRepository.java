@@ -0,0 +1,90 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.projection.JdbcProjection;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+// querydsl-sql로 구현한 읽기 전용 검색 Repository
+// MemberRepositoryImpl과 같은 조건/결과지만 HQL 변환, 영속성 컨텍스트 없이 SQL을 바로 실행하고
+// ResultSet은 JdbcProjection으로 MemberTeamDto 생성자에 바로 넘긴다.
+// 인메모리 인덱스(trigram, 검색 인덱스)는 사용하지 않으므로 CONTAINS/FUZZY는 부분 일치로 처리한다.
+@Repository
+@Transactional(readOnly = true)
+public class MemberSqlRepository {
+
+    private static final JdbcProjection<MemberTeamDto> MEMBER_TEAM_DTO = JdbcProjection.constructor(
+            MemberTeamDto.class, Long.class, String.class, int.class, Long.class, String.class);
+
+    private static final SMember member = new SMember("m");
+    private static final STeam team = new STeam("t");
+    private static final MemberSearchPredicates.Columns COLUMNS =
+            new MemberSearchPredicates.Columns(member.username, member.age, team.name);
+
+    private final SQLQueryFactory sqlQueryFactory;
+
+    public MemberSqlRepository(SQLQueryFactory sqlQueryFactory) {
+        this.sqlQueryFactory = sqlQueryFactory;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return fetch(contentQuery(condition));
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        SQLQuery<?> contentQuery = contentQuery(condition)
+                .orderBy(member.memberId.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        List<MemberTeamDto> content = fetch(contentQuery);
+
+        SQLQuery<Long> countQuery = sqlQueryFactory
+                .select(member.memberId.count())
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.id))
+                .where(where(condition));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    private SQLQuery<?> contentQuery(MemberSearchCondition condition) {
+        // JdbcProjection은 컬럼 순서로 생성자 파라미터를 채우므로 select 순서 = MemberTeamDto 생성자 순서
+        return sqlQueryFactory
+                .select(member.memberId, member.username, member.age, team.id, team.name)
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.id))
+                .where(where(condition));
+    }
+
+    private List<MemberTeamDto> fetch(SQLQuery<?> query) {
+        List<MemberTeamDto> result = new ArrayList<>();
+        try (ResultSet rs = query.getResults()) {
+            int rowNum = 0;
+            while (rs.next()) {
+                result.add(MEMBER_TEAM_DTO.mapRow(rs, rowNum++));
+            }
+        } catch (SQLException e) {
+            throw sqlQueryFactory.getConfiguration().translate(e);
+        }
+        return result;
+    }
+
+    private static BooleanBuilder where(MemberSearchCondition condition) {
+        return MemberSearchPredicates.where(condition, COLUMNS);
+    }
+}
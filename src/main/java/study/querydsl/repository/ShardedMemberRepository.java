@@ -0,0 +1,204 @@
+package study.querydsl.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.projection.JdbcProjection;
+import study.querydsl.shard.MemberShards;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 샤드에 나눠 저장된 회원의 저장/조회 Repository (MemberShards 참고)
+// - save, findById: id(또는 팀 id)로 샤드 하나만 접근
+// - search, searchPage: 모든 샤드에 동시에 조회(scatter)하고, 샤드별로 같은 순서로 정렬된 결과를 k-way merge(gather)
+// 샤드 라우팅은 이 Repository에만 있다. MemberJpaRepository, MemberRepositoryImpl(과 엔티티 저장)은 기본 DataSource만 사용하고,
+// 여기서 저장한 회원/팀은 변경 이벤트(MemberChangedEvent 등)를 발행하지 않으므로 검색 캐시, 인덱스, 읽기 테이블, outbox에 반영되지 않는다.
+@Repository
+@ConditionalOnProperty(name = "member.sharding.enabled", havingValue = "true")
+public class ShardedMemberRepository {
+
+    private static final JdbcProjection<MemberTeamDto> MEMBER_TEAM_DTO = JdbcProjection.constructor(
+            MemberTeamDto.class, Long.class, String.class, int.class, Long.class, String.class);
+
+    private static final Comparator<MemberTeamDto> BY_MEMBER_ID = Comparator.comparing(MemberTeamDto::getMemberId);
+
+    // searchPage에서 정렬할 수 있는 속성. 값이 없으면(null) 오름차순에서 앞, 내림차순에서 뒤 (SQL과 merge가 같은 순서여야 한다.)
+    private static final Map<String, SortKey> SORT_KEYS = Map.of(
+            "memberId", new SortKey("m.member_id", BY_MEMBER_ID),
+            "username", new SortKey("m.username",
+                    Comparator.comparing(MemberTeamDto::getUsername, Comparator.nullsFirst(Comparator.naturalOrder()))),
+            "age", new SortKey("m.age", Comparator.comparingInt(MemberTeamDto::getAge)),
+            "teamName", new SortKey("t.name",
+                    Comparator.comparing(MemberTeamDto::getTeamName, Comparator.nullsFirst(Comparator.naturalOrder()))));
+
+    private static final String SELECT = "select m.member_id, m.username, m.age, t.id, t.name" +
+            " from member m left join team t on m.team_id = t.id";
+
+    private final MemberShards shards;
+    private final ExecutorService executor;
+    private final AtomicInteger nextShard = new AtomicInteger();    // 팀이 없는 회원을 저장할 샤드 (round robin)
+
+    public ShardedMemberRepository(MemberShards shards) {
+        this.shards = shards;
+        this.executor = Executors.newFixedThreadPool(shards.count(), runnable -> {
+            Thread thread = new Thread(runnable, "member-shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Long saveTeam(String name) {
+        int shard = Math.floorMod(nextShard.getAndIncrement(), shards.count());
+        long id = shards.nextId(shard, "team_seq");
+        shards.shard(shard).update("insert into team (id, name) values (:id, :name)",
+                new MapSqlParameterSource("id", id).addValue("name", name));
+        return id;
+    }
+
+    /**
+     * 팀이 있으면 팀과 같은 샤드에, 없으면 샤드를 돌아가며 저장한다.
+     */
+    public Long save(MemberCreateRequest request) {
+        int shard = request.getTeamId() != null
+                ? shards.shardOf(request.getTeamId())
+                : Math.floorMod(nextShard.getAndIncrement(), shards.count());
+        long id = shards.nextId(shard, "member_seq");
+        shards.shard(shard).update(
+                "insert into member (member_id, username, age, team_id, last_active_at)" +
+                        " values (:id, :username, :age, :teamId, :now)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("username", request.getUsername())
+                        .addValue("age", request.getAge())
+                        .addValue("teamId", request.getTeamId())
+                        .addValue("now", LocalDateTime.now()));     // 가입 시점을 첫 활동으로 본다. (Member와 같음)
+        return id;
+    }
+
+    public Optional<MemberTeamDto> findById(Long memberId) {
+        List<MemberTeamDto> result = shards.shard(shards.shardOf(memberId)).query(
+                SELECT + " where m.member_id = :memberId",
+                new MapSqlParameterSource("memberId", memberId), MEMBER_TEAM_DTO);
+        return result.stream().findFirst();
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return merge(scatter(shard -> {
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            String sql = SELECT + MemberJdbcRepository.where(condition, params) + " order by m.member_id";
+            return shard.query(sql, params, MEMBER_TEAM_DTO);
+        }), BY_MEMBER_ID, Integer.MAX_VALUE);
+    }
+
+    /**
+     * pageable의 정렬(memberId, username, age, teamName, 없으면 memberId 순)로 페이징한다. 같은 값은 memberId 순
+     * 각 샤드에서 offset + size개까지 가져와서 합친 뒤 앞의 offset개를 버린다.
+     * 페이지가 깊어질수록 샤드별 조회량이 늘어나므로 깊은 페이지는 keyset 방식을 쓰는 것이 좋다.
+     * 그 밖의 속성이나 대소문자 무시 정렬은 샤드 결과를 같은 순서로 합칠 수 없으므로 IllegalArgumentException
+     */
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        Comparator<MemberTeamDto> comparator = (a, b) -> 0;
+        for (Sort.Order order : pageable.getSort()) {
+            SortKey key = SORT_KEYS.get(order.getProperty());
+            if (key == null || order.isIgnoreCase()) {
+                throw new IllegalArgumentException("unsupported sort for sharded search: " + order);
+            }
+            orderBy.append(key.column()).append(order.isAscending() ? " asc nulls first, " : " desc nulls last, ");
+            comparator = comparator.thenComparing(order.isAscending() ? key.comparator() : key.comparator().reversed());
+        }
+        orderBy.append("m.member_id");
+        comparator = comparator.thenComparing(BY_MEMBER_ID);
+
+        List<ShardResult> results = scatter(shard -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+            String where = MemberJdbcRepository.where(condition, params);
+            List<MemberTeamDto> content = shard.query(
+                    SELECT + where + orderBy + " limit :limit", params, MEMBER_TEAM_DTO);
+            Long count = shard.queryForObject(
+                    "select count(*) from member m left join team t on m.team_id = t.id" + where, params, Long.class);
+            return new ShardResult(content, count != null ? count : 0);
+        });
+
+        List<MemberTeamDto> merged = merge(results.stream().map(ShardResult::content).toList(), comparator, limit);
+        List<MemberTeamDto> content = merged.subList((int) Math.min(pageable.getOffset(), merged.size()), merged.size());
+        long total = results.stream().mapToLong(ShardResult::count).sum();
+        return new PageImpl<>(new ArrayList<>(content), pageable, total);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> List<T> scatter(Function<NamedParameterJdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = shards.all().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // comparator 순으로 정렬된 샤드별 결과를 합쳐서 앞에서부터 limit개를 반환한다.
+    private static List<MemberTeamDto> merge(List<List<MemberTeamDto>> sorted, Comparator<MemberTeamDto> comparator,
+                                             long limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Comparator.comparing(Cursor::current, comparator));
+        for (List<MemberTeamDto> rows : sorted) {
+            if (!rows.isEmpty()) {
+                heap.add(new Cursor(rows));
+            }
+        }
+        List<MemberTeamDto> result = new ArrayList<>();
+        while (!heap.isEmpty() && result.size() < limit) {
+            Cursor cursor = heap.poll();
+            result.add(cursor.current());
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private record ShardResult(List<MemberTeamDto> content, long count) {
+    }
+
+    private record SortKey(String column, Comparator<MemberTeamDto> comparator) {
+    }
+
+    private static final class Cursor {
+
+        private final List<MemberTeamDto> rows;
+        private int position;
+
+        Cursor(List<MemberTeamDto> rows) {
+            this.rows = rows;
+        }
+
+        MemberTeamDto current() {
+            return rows.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
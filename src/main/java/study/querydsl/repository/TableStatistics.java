@@ -0,0 +1,32 @@
+package study.querydsl.repository;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.OptionalLong;
+
+// DB가 관리하는 테이블 통계(추정 행 수)를 조회한다. count(*) 스캔 없이 메타데이터만 읽는다.
+// H2의 information_schema.tables.row_count_estimate를 사용하고, 지원하지 않는 DB에서는 empty
+@Component
+public class TableStatistics {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TableStatistics(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public OptionalLong estimatedRowCount(String table) {
+        try {
+            Long rows = jdbcTemplate.queryForObject(
+                    "select row_count_estimate from information_schema.tables" +
+                            " where table_schema = current_schema and table_name = ?",
+                    Long.class, table.toUpperCase(Locale.ROOT));
+            return rows != null ? OptionalLong.of(rows) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package study.querydsl.search;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 회원 나이 분포를 primitive 배열 기반 Fenwick tree(Binary Indexed Tree)로 관리한다.
+// 나이 1살 = 버킷 1개, 버킷별 인원수와 나이 합을 각각의 트리로 유지해서
+// count/sum/avg(범위)는 O(log n), min/max는 트리 탐색으로 O(log n)에 계산한다. (boxing, tuple 없음)
+public class AgeStatistics {
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private int offset;         // 0번 버킷의 나이
+    private long[] counts;      // 버킷별 인원수 (트리 재구성용 원본)
+    private long[] countTree;   // 1-based Fenwick tree
+    private long[] sumTree;
+    private long total;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AgeStatistics() {
+        this.offset = 0;
+        this.counts = new long[INITIAL_CAPACITY];
+        this.countTree = new long[INITIAL_CAPACITY + 1];
+        this.sumTree = new long[INITIAL_CAPACITY + 1];
+    }
+
+    public void add(int age) {
+        add(age, 1);
+    }
+
+    public void add(int age, long count) {
+        lock.writeLock().lock();
+        try {
+            ensureRange(age);
+            update(age - offset, count, age);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int age) {
+        lock.writeLock().lock();
+        try {
+            int bucket = age - offset;
+            if (bucket < 0 || bucket >= counts.length || counts[bucket] == 0) {
+                return;
+            }
+            update(bucket, -1, age);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void move(int oldAge, int newAge) {
+        if (oldAge != newAge) {
+            remove(oldAge);
+            add(newAge);
+        }
+    }
+
+    /**
+     * ageGoe <= age <= ageLoe 인 회원 수, null인 조건은 제한 없음
+     */
+    public long count(Integer ageGoe, Integer ageLoe) {
+        lock.readLock().lock();
+        try {
+            int[] range = bucketRange(ageGoe, ageLoe);
+            return range == null ? 0 : prefix(countTree, range[1]) - prefix(countTree, range[0] - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sum(Integer ageGoe, Integer ageLoe) {
+        lock.readLock().lock();
+        try {
+            int[] range = bucketRange(ageGoe, ageLoe);
+            return range == null ? 0 : prefix(sumTree, range[1]) - prefix(sumTree, range[0] - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 범위 안의 평균 나이, 해당하는 회원이 없으면 null
+     */
+    public Double avg(Integer ageGoe, Integer ageLoe) {
+        lock.readLock().lock();
+        try {
+            long count = count(ageGoe, ageLoe);
+            return count == 0 ? null : (double) sum(ageGoe, ageLoe) / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Integer min() {
+        lock.readLock().lock();
+        try {
+            return total == 0 ? null : findKth(1) + offset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Integer max() {
+        lock.readLock().lock();
+        try {
+            return total == 0 ? null : findKth(total) + offset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long total() {
+        lock.readLock().lock();
+        try {
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(int bucket, long delta, int age) {
+        counts[bucket] += delta;
+        total += delta;
+        for (int i = bucket + 1; i < countTree.length; i += i & -i) {
+            countTree[i] += delta;
+            sumTree[i] += delta * age;
+        }
+    }
+
+    private static long prefix(long[] tree, int bucket) {
+        long result = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            result += tree[i];
+        }
+        return result;
+    }
+
+    // 누적 인원수가 k 이상이 되는 첫 버킷 (1 <= k <= total)
+    private int findKth(long k) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(countTree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < countTree.length && countTree[next] < k) {
+                position = next;
+                k -= countTree[next];
+            }
+        }
+        return position;    // 누적 인원수가 k 미만인 마지막 위치(1-based) 다음 버킷 = 0-based로 position
+    }
+
+    // 조건을 버킷 범위 [from, to]로 바꾼다. 겹치는 버킷이 없으면 null
+    private int[] bucketRange(Integer ageGoe, Integer ageLoe) {
+        long from = ageGoe != null ? (long) ageGoe - offset : 0;
+        long to = ageLoe != null ? (long) ageLoe - offset : counts.length - 1;
+        from = Math.max(from, 0);
+        to = Math.min(to, counts.length - 1);
+        return from > to ? null : new int[]{(int) from, (int) to};
+    }
+
+    // age가 들어갈 수 있도록 버킷 범위를 넓히고 트리를 다시 만든다.
+    private void ensureRange(int age) {
+        if (age >= offset && age - offset < counts.length) {
+            return;
+        }
+        int newOffset = Math.min(offset, age);
+        int newCapacity = counts.length;
+        while (Math.max(age, offset + counts.length - 1) - newOffset >= newCapacity) {
+            newCapacity *= 2;
+        }
+
+        long[] newCounts = new long[newCapacity];
+        System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+        counts = newCounts;
+        offset = newOffset;
+        countTree = new long[newCapacity + 1];
+        sumTree = new long[newCapacity + 1];
+        for (int bucket = 0; bucket < newCapacity; bucket++) {
+            if (counts[bucket] != 0) {
+                long count = counts[bucket];
+                for (int i = bucket + 1; i < countTree.length; i += i & -i) {
+                    countTree[i] += count;
+                    sumTree[i] += count * (bucket + offset);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.event.MemberChangedEvent;
+
+import static study.querydsl.entity.QMember.member;
+
+// AgeStatistics를 커밋된 회원 변경과 동기화한다. member.age-statistics.enabled=true일 때만 동작한다.
+@Component
+@ConditionalOnProperty(name = "member.age-statistics.enabled", havingValue = "true")
+public class AgeStatisticsSynchronizer extends IndexSynchronizer<AgeStatistics> {
+
+    private final JPAQueryFactory queryFactory;
+
+    public AgeStatisticsSynchronizer(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    protected AgeStatistics load() {
+        // 회원 전체가 아니라 나이별 인원수만 가져온다.
+        AgeStatistics statistics = new AgeStatistics();
+        for (Tuple tuple : queryFactory
+                .select(member.age, member.count())
+                .from(member)
+                .groupBy(member.age)
+                .fetch()) {
+            statistics.add(tuple.get(member.age), tuple.get(member.count()));
+        }
+        return statistics;
+    }
+
+    @Override
+    protected void apply(AgeStatistics statistics, MemberChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> statistics.add(event.after().age());
+            case DELETED -> statistics.remove(event.before().age());
+            case UPDATED -> {
+                // 이전 상태를 알 수 없는 경우(준영속 엔티티 update)는 나이 변경을 반영할 수 없다.
+                if (event.before() != null) {
+                    statistics.move(event.before().age(), event.after().age());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package study.querydsl.search;
+
+import study.querydsl.dto.Suggestion;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 회원명, 팀명 자동완성용 인메모리 사전
+// 변경 이벤트에 이전 값이 없을 수도 있으므로(merge 등) id별 현재 값을 따로 들고 있다가 바뀐 값만 사전에서 빼고 넣는다.
+// 수정은 IndexSynchronizer에서 한 번에 하나씩만 호출되고, 조회는 PrefixIndex만 읽으므로 동시에 해도 된다.
+public class AutocompleteIndex {
+
+    private final PrefixIndex usernames = new PrefixIndex();
+    private final PrefixIndex teamNames = new PrefixIndex();
+    private final Map<Long, String> usernameByMember = new HashMap<>();
+    private final Map<Long, String> nameByTeam = new HashMap<>();
+
+    public void putMember(Long memberId, String username) {
+        usernames.remove(usernameByMember.put(memberId, username));
+        usernames.add(username);
+    }
+
+    public void removeMember(Long memberId) {
+        usernames.remove(usernameByMember.remove(memberId));
+    }
+
+    public void putTeam(Long teamId, String name) {
+        teamNames.remove(nameByTeam.put(teamId, name));
+        teamNames.add(name);
+    }
+
+    public void removeTeam(Long teamId) {
+        teamNames.remove(nameByTeam.remove(teamId));
+    }
+
+    public List<Suggestion> usernames(String prefix, int limit) {
+        return usernames.top(prefix, limit);
+    }
+
+    public List<Suggestion> teamNames(String prefix, int limit) {
+        return teamNames.top(prefix, limit);
+    }
+}
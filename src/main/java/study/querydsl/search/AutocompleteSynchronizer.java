@@ -0,0 +1,63 @@
+package study.querydsl.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+// AutocompleteIndex를 커밋된 회원/팀 변경과 동기화한다. member.autocomplete.enabled=true일 때만 동작한다.
+@Component
+@ConditionalOnProperty(name = "member.autocomplete.enabled", havingValue = "true")
+public class AutocompleteSynchronizer extends IndexSynchronizer<AutocompleteIndex> {
+
+    private final JPAQueryFactory queryFactory;
+
+    public AutocompleteSynchronizer(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    protected AutocompleteIndex load() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            index.putTeam(tuple.get(team.id), tuple.get(team.name));
+        }
+        for (Tuple tuple : queryFactory.select(member.id, member.username).from(member).fetch()) {
+            index.putMember(tuple.get(member.id), tuple.get(member.username));
+        }
+        return index;
+    }
+
+    // 팀 이름도 인덱스에 들어 있으므로 Team 벌크 변경도 반영한다.
+    @Override
+    protected boolean affectedBy(BulkChangedEvent event) {
+        return super.affectedBy(event) || "Team".equals(event.entityName());
+    }
+
+    @Override
+    protected void apply(AutocompleteIndex index, MemberChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.removeMember(event.memberId());
+        } else {
+            index.putMember(event.memberId(), event.after().username());
+        }
+    }
+
+    @Override
+    protected void apply(AutocompleteIndex index, TeamChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.removeTeam(event.teamId());
+        } else {
+            index.putTeam(event.teamId(), event.afterName());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package study.querydsl.search;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// DB에서 한번 적재한 인메모리 인덱스를 Member/Team 변경 이벤트로 최신 상태로 유지하는 공통 로직
+// - 애플리케이션 시작 시 load()로 전체 적재
+// - 커밋된 단건 변경은 apply()로 증분 반영
+// - 벌크 연산은 어떤 row가 바뀌었는지 모르므로 인덱스를 내리고 별도 스레드에서 다시 적재 (그 동안은 DB로 조회)
+//   커밋한 스레드가 전체 재적재를 기다리지 않도록 하고, 연달아 들어온 벌크 이벤트는 한 번의 재적재로 합친다.
+public abstract class IndexSynchronizer<I> {
+
+    private final TransactionTemplate readOnlyTx;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, getClass().getSimpleName() + "-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile I index;
+    private long generation;        // 벌크 변경마다 증가, 적재 도중 바뀌었으면 적재한 인덱스는 버린다.
+    private List<Object> pending;   // 재적재 중에 들어온 이벤트, 적재가 끝나면 새 인덱스에 다시 반영한다.
+
+    protected IndexSynchronizer(PlatformTransactionManager transactionManager) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        this.readOnlyTx = tx;
+    }
+
+    // DB에서 인덱스를 새로 만든다. 읽기 전용 트랜잭션 안에서 호출된다.
+    protected abstract I load();
+
+    protected abstract void apply(I index, MemberChangedEvent event);
+
+    protected void apply(I index, TeamChangedEvent event) {
+    }
+
+    // 인덱스를 다시 적재해야 하는 벌크 변경인지. 기본은 Member 벌크 변경만 반영한다.
+    protected boolean affectedBy(BulkChangedEvent event) {
+        return "Member".equals(event.entityName());
+    }
+
+    /**
+     * 적재가 끝난 인덱스를 반환한다. 적재 전이거나 재적재 중이면 비어있으므로 DB로 조회해야 한다.
+     */
+    public Optional<I> current() {
+        return Optional.ofNullable(index);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        accept(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        accept(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(BulkChangedEvent event) {
+        if (!affectedBy(event)) {
+            return;
+        }
+        synchronized (this) {
+            index = null;
+            generation++;
+        }
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long startedAt;
+            synchronized (this) {
+                pending = new ArrayList<>();
+                startedAt = generation;
+            }
+            I fresh = null;
+            try {
+                fresh = readOnlyTx.execute(status -> load());
+            } finally {
+                synchronized (this) {
+                    if (fresh != null && startedAt == generation) {   // 적재 중 벌크 변경이 있었으면 다음 재적재에 맡긴다.
+                        for (Object event : pending) {
+                            dispatch(fresh, event);
+                        }
+                        index = fresh;
+                    }
+                    pending = null;
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private synchronized void accept(Object event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        if (index != null) {
+            dispatch(index, event);
+        }
+    }
+
+    private void dispatch(I target, Object event) {
+        if (event instanceof MemberChangedEvent memberChanged) {
+            apply(target, memberChanged);
+        } else if (event instanceof TeamChangedEvent teamChanged) {
+            apply(target, teamChanged);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package study.querydsl.search;
+
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.springframework.util.StringUtils.hasText;
+
+// MemberSearchCondition(회원명, 팀명 일치 + 나이 범위)을 DB 없이 처리하기 위한 인메모리 인덱스
+// - 회원명, 팀명: HashMap
+// - 나이: (age, memberId) 순으로 정렬된 int[]/long[] 배열, 이진 탐색으로 범위를 찾는다.
+//   단건 변경은 배열을 밀어서 끼워 넣고, 전체 적재(putMembers)는 모아서 한 번만 정렬한다.
+public class MemberSearchIndex {
+
+    private static final Comparator<MemberRow> AGE_ORDER =
+            Comparator.comparingInt(MemberRow::age).thenComparingLong(MemberRow::memberId);
+
+    private final Map<Long, MemberRow> rows = new HashMap<>();
+    private final Map<String, Set<Long>> membersByUsername = new HashMap<>();
+    private final Map<Long, Set<Long>> membersByTeam = new HashMap<>();
+    private final Map<Long, String> teamNames = new HashMap<>();
+    private final Map<String, Set<Long>> teamsByName = new HashMap<>();
+
+    private int[] ages = new int[16];
+    private long[] ageMemberIds = new long[16];
+    private int ageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 인덱스로 처리할 수 있는 조건인지 확인한다. 회원명은 일치 검색만 지원하고, 팀명 목록(teamNames)은 지원하지 않는다.
+     */
+    public static boolean supports(MemberSearchCondition condition) {
+        if (condition.getTeamNames() != null && !condition.getTeamNames().isEmpty()) {
+            return false;
+        }
+        return !hasText(condition.getUserName())
+                || condition.getUsernameMatch() == null
+                || condition.getUsernameMatch() == UsernameMatch.EXACT;
+    }
+
+    public void putMember(Long memberId, String username, int age, Long teamId) {
+        lock.writeLock().lock();
+        try {
+            removeMemberInternal(memberId);     // 수정이면 이전 회원명, 팀, (age, memberId) 항목을 먼저 뺀다.
+            putRow(new MemberRow(memberId, username, age, teamId));
+            insertAge(age, memberId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 회원을 한꺼번에 적재한다. putMember를 반복하면 삽입마다 나이 배열을 밀어야 해서 O(n²)이므로,
+     * 나이 배열은 마지막에 (age, memberId) 순으로 한 번만 정렬해서 다시 만든다. O(n log n)
+     */
+    public void putMembers(Collection<MemberRow> members) {
+        lock.writeLock().lock();
+        try {
+            for (MemberRow member : members) {
+                removeMemberInternal(member.memberId());
+                putRow(member);
+            }
+            MemberRow[] sorted = rows.values().toArray(MemberRow[]::new);
+            Arrays.sort(sorted, AGE_ORDER);
+            ages = new int[Math.max(16, sorted.length)];
+            ageMemberIds = new long[ages.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ages[i] = sorted[i].age();
+                ageMemberIds[i] = sorted[i].memberId();
+            }
+            ageSize = sorted.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMember(Long memberId) {
+        lock.writeLock().lock();
+        try {
+            removeMemberInternal(memberId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putTeam(Long teamId, String name) {
+        lock.writeLock().lock();
+        try {
+            removeTeamName(teamId);
+            teamNames.put(teamId, name);
+            if (name != null) {
+                teamsByName.computeIfAbsent(name, key -> new HashSet<>()).add(teamId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTeam(Long teamId) {
+        lock.writeLock().lock();
+        try {
+            removeTeamName(teamId);
+            teamNames.remove(teamId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 회원을 memberId 순으로 반환한다. supports(condition)이 true인 조건만 넘겨야 한다.
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        String username = hasText(condition.getUserName()) ? condition.getUserName() : null;
+        String teamName = hasText(condition.getTeamName()) ? condition.getTeamName() : null;
+        int ageGoe = condition.getAgeGoe() != null ? condition.getAgeGoe() : Integer.MIN_VALUE;
+        int ageLoe = condition.getAgeLoe() != null ? condition.getAgeLoe() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            // 일치 조건 중 후보가 가장 적은 것을 시작점으로 삼고, 나머지 조건은 row 값으로 확인한다.
+            Collection<Long> candidates;
+            if (username != null) {
+                candidates = membersByUsername.getOrDefault(username, Collections.emptySet());
+            } else if (teamName != null) {
+                candidates = new ArrayList<>();
+                for (Long teamId : teamsByName.getOrDefault(teamName, Collections.emptySet())) {
+                    candidates.addAll(membersByTeam.getOrDefault(teamId, Collections.emptySet()));
+                }
+            } else {
+                candidates = ageRange(ageGoe, ageLoe);
+            }
+
+            long[] ids = new long[candidates.size()];
+            int count = 0;
+            for (Long id : candidates) {
+                MemberRow row = rows.get(id);
+                if (row.age() >= ageGoe && row.age() <= ageLoe
+                        && (teamName == null || teamName.equals(teamNames.get(row.teamId())))) {
+                    ids[count++] = id;
+                }
+            }
+            Arrays.sort(ids, 0, count);
+
+            List<MemberTeamDto> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                MemberRow row = rows.get(ids[i]);
+                result.add(new MemberTeamDto(row.memberId(), row.username(), row.age(),
+                        row.teamId(), row.teamId() != null ? teamNames.get(row.teamId()) : null));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> ageRange(int ageGoe, int ageLoe) {
+        int from = lowerBound(ageGoe, Long.MIN_VALUE);
+        int to = ageLoe == Integer.MAX_VALUE ? ageSize : lowerBound(ageLoe + 1, Long.MIN_VALUE);
+        List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            ids.add(ageMemberIds[i]);
+        }
+        return ids;
+    }
+
+    private void putRow(MemberRow row) {
+        rows.put(row.memberId(), row);
+        if (row.username() != null) {
+            membersByUsername.computeIfAbsent(row.username(), key -> new HashSet<>()).add(row.memberId());
+        }
+        if (row.teamId() != null) {
+            membersByTeam.computeIfAbsent(row.teamId(), key -> new HashSet<>()).add(row.memberId());
+        }
+    }
+
+    private void removeMemberInternal(Long memberId) {
+        MemberRow old = rows.remove(memberId);
+        if (old == null) {
+            return;
+        }
+        if (old.username() != null) {
+            removeFrom(membersByUsername, old.username(), memberId);
+        }
+        if (old.teamId() != null) {
+            removeFrom(membersByTeam, old.teamId(), memberId);
+        }
+        removeAge(old.age(), memberId);
+    }
+
+    private void removeTeamName(Long teamId) {
+        String oldName = teamNames.get(teamId);
+        if (oldName != null) {
+            removeFrom(teamsByName, oldName, teamId);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> map, K key, Long id) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private void insertAge(int age, long memberId) {
+        if (ageSize == ages.length) {
+            ages = Arrays.copyOf(ages, ageSize * 2);
+            ageMemberIds = Arrays.copyOf(ageMemberIds, ageSize * 2);
+        }
+        int index = lowerBound(age, memberId);
+        System.arraycopy(ages, index, ages, index + 1, ageSize - index);
+        System.arraycopy(ageMemberIds, index, ageMemberIds, index + 1, ageSize - index);
+        ages[index] = age;
+        ageMemberIds[index] = memberId;
+        ageSize++;
+    }
+
+    private void removeAge(int age, long memberId) {
+        int index = lowerBound(age, memberId);
+        if (index < ageSize && ages[index] == age && ageMemberIds[index] == memberId) {
+            System.arraycopy(ages, index + 1, ages, index, ageSize - index - 1);
+            System.arraycopy(ageMemberIds, index + 1, ageMemberIds, index, ageSize - index - 1);
+            ageSize--;
+        }
+    }
+
+    // (age, memberId) 보다 크거나 같은 첫 위치
+    private int lowerBound(int age, long memberId) {
+        int low = 0;
+        int high = ageSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ages[mid] < age || (ages[mid] == age && ageMemberIds[mid] < memberId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record MemberRow(Long memberId, String username, int age, Long teamId) {
+    }
+}
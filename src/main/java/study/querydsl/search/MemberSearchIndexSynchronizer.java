@@ -0,0 +1,85 @@
+package study.querydsl.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.MemberChangedEvent;
+import study.querydsl.event.TeamChangedEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+// MemberSearchIndex를 커밋된 회원/팀 변경과 동기화한다. member.search-index.enabled=true일 때만 동작한다.
+// 인덱스는 커밋된 데이터만 반영하므로, 같은 트랜잭션에서 방금 저장한 회원은 보이지 않는다.
+@Component
+@ConditionalOnProperty(name = "member.search-index.enabled", havingValue = "true")
+public class MemberSearchIndexSynchronizer extends IndexSynchronizer<MemberSearchIndex> {
+
+    private final JPAQueryFactory queryFactory;
+
+    public MemberSearchIndexSynchronizer(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * 인덱스가 적재되어 있고 처리 가능한 조건이면 인덱스로 조회한 결과를, 아니면 빈 값을 반환한다. (DB로 조회)
+     */
+    public Optional<List<MemberTeamDto>> search(MemberSearchCondition condition) {
+        if (!MemberSearchIndex.supports(condition)) {
+            return Optional.empty();
+        }
+        return current().map(index -> index.search(condition));
+    }
+
+    @Override
+    protected MemberSearchIndex load() {
+        MemberSearchIndex index = new MemberSearchIndex();
+        for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            index.putTeam(tuple.get(team.id), tuple.get(team.name));
+        }
+        List<MemberSearchIndex.MemberRow> members = queryFactory
+                .select(member.id, member.username, member.age, member.team.id)
+                .from(member)
+                .fetch()
+                .stream()
+                .map(tuple -> new MemberSearchIndex.MemberRow(tuple.get(member.id), tuple.get(member.username),
+                        tuple.get(member.age), tuple.get(member.team.id)))
+                .toList();
+        index.putMembers(members);
+        return index;
+    }
+
+    // 팀 이름도 인덱스에 들어 있으므로 Team 벌크 변경도 반영한다.
+    @Override
+    protected boolean affectedBy(BulkChangedEvent event) {
+        return super.affectedBy(event) || "Team".equals(event.entityName());
+    }
+
+    @Override
+    protected void apply(MemberSearchIndex index, MemberChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.removeMember(event.memberId());
+        } else {
+            index.putMember(event.memberId(), event.after().username(), event.after().age(), event.after().teamId());
+        }
+    }
+
+    @Override
+    protected void apply(MemberSearchIndex index, TeamChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.removeTeam(event.teamId());
+        } else {
+            index.putTeam(event.teamId(), event.afterName());
+        }
+    }
+}
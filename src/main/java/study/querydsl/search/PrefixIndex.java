@@ -0,0 +1,163 @@
+package study.querydsl.search;
+
+import study.querydsl.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// 중복 없는 값과 개수를 정렬된 상태로 유지하는 사전 (select value, count(*) ... group by value의 인메모리 버전)
+// 앞부분 일치 조회는 정렬 순서상 prefix 위치로 바로 찾아가서(O(log n)) prefix로 시작하는 구간만 읽는다.
+// 구간이 긴 prefix("m", "member" 등)는 매번 훑지 않도록 상위 MAX_LIMIT개를 캐시해두고, 값이 추가/삭제될 때 같이 고친다.
+// - 조회: 캐시된 prefix는 O(limit), 아니면 구간(CACHE_THRESHOLD개 이하)만 훑는다.
+// - 수정: 값의 prefix 중 캐시된 것만 고친다. 상위 목록에 있던 값의 개수가 줄면 목록 밖의 값이 올라올 수 있으므로 캐시를 버린다.
+// ConcurrentSkipListMap, ConcurrentHashMap이므로 조회는 잠금 없이 수정과 동시에 할 수 있다. (수정과 캐시 생성만 잠금)
+public class PrefixIndex {
+
+    // 캐시하는 상위 개수, 이보다 큰 limit은 캐시 없이 구간을 훑는다. (AutocompleteService는 limit을 여기까지로 제한한다.)
+    public static final int MAX_LIMIT = 100;
+
+    // 훑은 값이 이보다 많은 prefix만 캐시한다. 짧은 구간은 훑는 비용이 작고, 캐시할 prefix 수를 제한한다.
+    static final int CACHE_THRESHOLD = 256;
+
+    // 많이 쓰인 값이 앞, 개수가 같으면 사전 순
+    static final Comparator<Suggestion> RANK = Comparator.comparingLong(Suggestion::count).reversed()
+            .thenComparing(Suggestion::value);
+
+    private final ConcurrentSkipListMap<String, Long> counts = new ConcurrentSkipListMap<>();
+    private final Map<String, List<Suggestion>> topByPrefix = new ConcurrentHashMap<>();
+
+    public synchronized void add(String value) {
+        if (value != null) {
+            long count = counts.merge(value, 1L, Long::sum);
+            updateCached(value, count, true);
+        }
+    }
+
+    public synchronized void remove(String value) {
+        if (value != null && counts.containsKey(value)) {
+            Long count = counts.computeIfPresent(value, (key, old) -> old == 1 ? null : old - 1);
+            updateCached(value, count != null ? count : 0, false);
+        }
+    }
+
+    /**
+     * prefix로 시작하는 값 중 개수가 많은 순으로 limit개까지 반환한다. 개수가 같으면 사전 순 (대소문자 구분, like 'prefix%'와 같음)
+     */
+    public List<Suggestion> top(String prefix, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (limit > MAX_LIMIT) {
+            return scan(prefix, limit).top();
+        }
+        List<Suggestion> cached = topByPrefix.get(prefix);
+        if (cached == null) {
+            Scan scan = scan(prefix, MAX_LIMIT);
+            if (scan.scanned() <= CACHE_THRESHOLD) {
+                return head(scan.top(), limit);
+            }
+            cached = cache(prefix);
+        }
+        return head(cached, limit);
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    // 캐시하는 동안 수정이 끼어들면 고쳐지지 않은 목록이 남으므로 수정과 같은 잠금 안에서 다시 훑는다.
+    private synchronized List<Suggestion> cache(String prefix) {
+        return topByPrefix.computeIfAbsent(prefix, key -> scan(key, MAX_LIMIT).top());
+    }
+
+    // 구간을 한 번 훑으면서 크기 limit의 min-heap에 상위 limit개만 남긴다. O(m log limit), m = prefix로 시작하는 값 수
+    private Scan scan(String prefix, int limit) {
+        // heap의 맨 앞은 지금까지의 상위 limit개 중 가장 순위가 낮은 값
+        PriorityQueue<Suggestion> heap = new PriorityQueue<>(Math.min(limit, 16) + 1, RANK.reversed());
+        int scanned = 0;
+        for (Map.Entry<String, Long> entry : counts.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            scanned++;
+            Suggestion suggestion = new Suggestion(entry.getKey(), entry.getValue());
+            if (heap.size() < limit) {
+                heap.add(suggestion);
+            } else if (RANK.compare(suggestion, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(suggestion);
+            }
+        }
+        List<Suggestion> top = new ArrayList<>(heap);
+        top.sort(RANK);
+        return new Scan(List.copyOf(top), scanned);
+    }
+
+    // value의 prefix 중 캐시된 목록을 value의 새 개수(count, 0이면 삭제됨)로 고친다.
+    private void updateCached(String value, long count, boolean increased) {
+        if (topByPrefix.isEmpty()) {
+            return;
+        }
+        for (int length = 0; length <= value.length(); length++) {
+            String prefix = value.substring(0, length);
+            List<Suggestion> top = topByPrefix.get(prefix);
+            if (top != null) {
+                List<Suggestion> updated = adjust(top, value, count, increased);
+                if (updated != null) {
+                    topByPrefix.put(prefix, updated);
+                } else {
+                    topByPrefix.remove(prefix);     // 다음 조회에서 다시 만든다.
+                }
+            }
+        }
+    }
+
+    // 고친 상위 목록, 목록만으로 고칠 수 없으면 null
+    private static List<Suggestion> adjust(List<Suggestion> top, String value, long count, boolean increased) {
+        int index = indexOf(top, value);
+        boolean full = top.size() == MAX_LIMIT;    // 꽉 차 있지 않으면 prefix로 시작하는 값이 모두 들어 있다.
+        Suggestion suggestion = new Suggestion(value, count);
+        if (index < 0) {
+            // 목록 밖의 값은 줄어들면 계속 밖이고, 늘어나면 마지막 값보다 앞설 때만 들어온다.
+            if (!increased || (full && RANK.compare(suggestion, top.get(top.size() - 1)) > 0)) {
+                return top;
+            }
+            List<Suggestion> updated = new ArrayList<>(top);
+            updated.add(suggestion);
+            updated.sort(RANK);
+            return List.copyOf(updated.subList(0, Math.min(updated.size(), MAX_LIMIT)));
+        }
+        if (!increased && full) {
+            return null;    // 목록 밖의 값이 이 값보다 앞설 수 있다.
+        }
+        List<Suggestion> updated = new ArrayList<>(top);
+        if (count == 0) {
+            updated.remove(index);
+        } else {
+            updated.set(index, suggestion);
+        }
+        updated.sort(RANK);
+        return List.copyOf(updated);
+    }
+
+    private static int indexOf(List<Suggestion> top, String value) {
+        for (int i = 0; i < top.size(); i++) {
+            if (top.get(i).value().equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Suggestion> head(List<Suggestion> top, int limit) {
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+
+    private record Scan(List<Suggestion> top, int scanned) {
+    }
+}
@@ -0,0 +1,43 @@
+package study.querydsl.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.MemberChangedEvent;
+
+import static study.querydsl.entity.QMember.member;
+
+// UsernameNgramIndex를 커밋된 회원 변경과 동기화한다. member.username-index.enabled=true일 때만 동작한다.
+// 인덱스는 커밋된 데이터만 반영하므로, 같은 트랜잭션에서 방금 저장한 회원은 CONTAINS/FUZZY 검색에 보이지 않는다.
+@Component
+@ConditionalOnProperty(name = "member.username-index.enabled", havingValue = "true")
+public class UsernameIndexSynchronizer extends IndexSynchronizer<UsernameNgramIndex> {
+
+    private final JPAQueryFactory queryFactory;
+
+    public UsernameIndexSynchronizer(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager) {
+        super(transactionManager);
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    protected UsernameNgramIndex load() {
+        UsernameNgramIndex index = new UsernameNgramIndex();
+        for (Tuple tuple : queryFactory.select(member.id, member.username).from(member).fetch()) {
+            index.put(tuple.get(member.id), tuple.get(member.username));
+        }
+        return index;
+    }
+
+    @Override
+    protected void apply(UsernameNgramIndex index, MemberChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.remove(event.memberId());
+        } else {
+            index.put(event.memberId(), event.after().username());
+        }
+    }
+}
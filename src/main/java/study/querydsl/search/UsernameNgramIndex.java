@@ -0,0 +1,160 @@
+package study.querydsl.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// member.username에 대한 trigram(3-gram) 역색인
+// - contains: 검색어의 trigram 중 가장 짧은 posting만 훑고 실제 포함 여부를 확인한다. ('%x%' full scan 대체)
+// - fuzzy: 검색어와 trigram을 공유하는 후보만 모아 유사도(Jaccard)로 정렬한다. (pg_trgm 방식)
+// 대소문자는 구분하지 않는다.
+public class UsernameNgramIndex {
+
+    private static final int N = 3;
+    private static final double FUZZY_THRESHOLD = 0.3;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long memberId, String username) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(memberId);
+            if (username == null) {
+                return;
+            }
+            String normalized = normalize(username);
+            Set<String> grams = grams(normalized, true);
+            entries.put(memberId, new Entry(normalized, grams.size()));
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(memberId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long memberId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(memberId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * username에 query가 포함된 회원 id
+     */
+    public Set<Long> contains(String query) {
+        String q = normalize(query);
+        lock.readLock().lock();
+        try {
+            Set<Long> result = new HashSet<>();
+            if (q.length() < N) {
+                // trigram을 만들 수 없는 짧은 검색어는 전체를 확인한다.
+                entries.forEach((id, entry) -> {
+                    if (entry.username().contains(q)) {
+                        result.add(id);
+                    }
+                });
+                return result;
+            }
+
+            Set<Long> smallest = null;
+            for (String gram : grams(q, false)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return result;  // 없는 trigram이 하나라도 있으면 결과 없음
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            for (Long id : smallest) {
+                if (entries.get(id).username().contains(q)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * username이 query와 비슷한 회원 id, 유사도가 높은 순으로 최대 limit개
+     */
+    public List<Long> fuzzy(String query, int limit) {
+        Set<String> queryGrams = grams(normalize(query), true);
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (Long id : postings.getOrDefault(gram, Collections.emptySet())) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+
+            List<Map.Entry<Long, Double>> matches = new ArrayList<>();
+            shared.forEach((id, count) -> {
+                int union = queryGrams.size() + entries.get(id).gramCount() - count;
+                double similarity = (double) count / union;
+                if (similarity >= FUZZY_THRESHOLD) {
+                    matches.add(Map.entry(id, similarity));
+                }
+            });
+            matches.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+
+            List<Long> result = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                result.add(matches.get(i).getKey());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long memberId) {
+        Entry old = entries.remove(memberId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old.username(), true)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(memberId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    // padded = true면 앞에 공백 두 칸, 뒤에 한 칸을 붙여서 단어 경계도 trigram에 포함한다.
+    private static Set<String> grams(String value, boolean padded) {
+        String text = padded ? "  " + value + " " : value;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private record Entry(String username, int gramCount) {
+    }
+}
@@ -0,0 +1,73 @@
+package study.querydsl.service;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.Suggestion;
+import study.querydsl.search.AutocompleteIndex;
+import study.querydsl.search.AutocompleteSynchronizer;
+import study.querydsl.search.PrefixIndex;
+
+import java.util.List;
+import java.util.Optional;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+// 회원명, 팀명 자동완성
+// 인메모리 사전(member.autocomplete.enabled)이 적재되어 있으면 사전으로, 아니면 DB group by로 조회한다.
+@Service
+public class AutocompleteService {
+
+    static final int MAX_LIMIT = PrefixIndex.MAX_LIMIT;
+
+    private final JPAQueryFactory queryFactory;
+    private final ObjectProvider<AutocompleteSynchronizer> autocomplete;
+
+    public AutocompleteService(JPAQueryFactory queryFactory, ObjectProvider<AutocompleteSynchronizer> autocomplete) {
+        this.queryFactory = queryFactory;
+        this.autocomplete = autocomplete;
+    }
+
+    public List<Suggestion> usernames(String prefix, int limit) {
+        Optional<AutocompleteIndex> index = currentIndex();
+        if (index.isPresent()) {
+            return index.get().usernames(prefix, clamp(limit));
+        }
+        return fromDatabase(member, member.username, prefix, limit);
+    }
+
+    public List<Suggestion> teamNames(String prefix, int limit) {
+        Optional<AutocompleteIndex> index = currentIndex();
+        if (index.isPresent()) {
+            return index.get().teamNames(prefix, clamp(limit));
+        }
+        return fromDatabase(team, team.name, prefix, limit);
+    }
+
+    private Optional<AutocompleteIndex> currentIndex() {
+        AutocompleteSynchronizer synchronizer = autocomplete.getIfAvailable();
+        return synchronizer != null ? synchronizer.current() : Optional.empty();
+    }
+
+    // select value, count(*) from ... where value like 'prefix%' group by value order by count(*) desc, value limit ?
+    private List<Suggestion> fromDatabase(EntityPath<?> from, StringPath value, String prefix, int limit) {
+        return queryFactory
+                .select(value, value.count())
+                .from(from)
+                .where(value.isNotNull(), prefix.isEmpty() ? null : value.startsWith(prefix))
+                .groupBy(value)
+                .orderBy(value.count().desc(), value.asc())     // 인메모리 사전(PrefixIndex)과 같은 순서
+                .limit(clamp(limit))
+                .fetch()
+                .stream()
+                .map(tuple -> new Suggestion(tuple.get(value), tuple.get(value.count())))
+                .toList();
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,32 @@
+package study.querydsl.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+
+// 비활성 회원 보관 배치. member.archive.enabled=true일 때만 동작한다.
+// member.archive.inactive-days 동안 활동이 없는 회원을 member.archive.cron 주기(기본 매일 04시)로 옮긴다.
+// 활동은 POST /v1/members/{memberId}/activity로 기록되고, 보관된 회원도 활동하면 되돌려진다.
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(name = "member.archive.enabled", havingValue = "true")
+public class MemberArchiveScheduler {
+
+    private final MemberArchiveService memberArchiveService;
+    private final long inactiveDays;
+
+    public MemberArchiveScheduler(MemberArchiveService memberArchiveService,
+                                  @Value("${member.archive.inactive-days:365}") long inactiveDays) {
+        this.memberArchiveService = memberArchiveService;
+        this.inactiveDays = inactiveDays;
+    }
+
+    @Scheduled(cron = "${member.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusDays(inactiveDays));
+    }
+}
@@ -0,0 +1,131 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.event.BulkChangedEvent;
+import study.querydsl.event.ChangeType;
+import study.querydsl.outbox.OutboxWriter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// 마지막 활동(lastActiveAt)이 오래된 회원을 member 테이블에서 member_archive 테이블로 옮긴다.
+// 한 번에 chunkSize명씩 별도 트랜잭션으로 옮겨서 잠금 시간과 undo 크기를 제한한다.
+// (insert ... select + delete를 SQL로 실행하므로 엔티티 이벤트 대신 BulkChangedEvent를 발행한다.
+//  chunk마다 발행하면 인덱스, 읽기 테이블이 chunk마다 전체 재적재되므로 작업이 끝난 뒤 한 번만 발행한다.
+//  outbox(member.outbox.enabled)의 range 이벤트는 커밋과 같이 남아야 하므로 chunk 트랜잭션 안에서 chunk의 id 범위로 저장한다.)
+// lastActiveAt이 없는 회원(JDBC로 직접 넣은 데이터 등)은 활동 시각을 알 수 없으므로 옮기지 않는다.
+// 활동은 recordActivity()로 기록하고, 보관된 회원이 다시 활동하면 member 테이블로 되돌린다.
+@Slf4j
+@Service
+public class MemberArchiveService {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<OutboxWriter> outboxWriter;
+    private final int chunkSize;
+
+    public MemberArchiveService(NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectProvider<OutboxWriter> outboxWriter,
+                                @Value("${member.archive.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.outboxWriter = outboxWriter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * cutoff 이전에 마지막으로 활동한 회원을 모두 보관 테이블로 옮기고, 옮긴 회원 수를 반환한다.
+     */
+    public long archiveInactiveBefore(LocalDateTime cutoff) {
+        long total = 0;
+        Long minId = null;
+        Long maxId = null;
+        try {
+            List<Long> moved;
+            do {
+                moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                if (!moved.isEmpty()) {
+                    // chunk는 member_id 순으로 옮기므로 첫 chunk의 처음 id가 최소, 마지막 chunk의 끝 id가 최대
+                    minId = minId != null ? minId : moved.get(0);
+                    maxId = moved.get(moved.size() - 1);
+                }
+                total += moved.size();
+            } while (moved.size() == chunkSize);
+        } finally {
+            // 중간에 실패해도 이미 커밋된 chunk는 반영되어야 한다. (커밋 후 알림, outbox에는 chunk마다 이미 저장됨)
+            if (total > 0) {
+                eventPublisher.publishEvent(new BulkChangedEvent("Member", ChangeType.DELETED, total,
+                        "last_active_at < " + cutoff, minId, maxId));
+            }
+        }
+
+        if (total > 0) {
+            log.info("archived {} inactive members. cutoff={}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * 회원의 활동 시각을 지금으로 기록한다. 보관된 회원이면 member 테이블로 되돌린다. 회원이 없으면 false
+     * 활동 시각은 검색 결과, 인덱스에 영향이 없으므로 변경 이벤트를 발행하지 않는다.
+     */
+    public boolean recordActivity(Long memberId) {
+        int updated = jdbcTemplate.update("update member set last_active_at = :now where member_id = :memberId",
+                new MapSqlParameterSource("memberId", memberId).addValue("now", LocalDateTime.now()));
+        return updated > 0 || restore(List.of(memberId)) > 0;
+    }
+
+    /**
+     * 보관된 회원을 member 테이블로 되돌리고, 되돌린 회원 수를 반환한다. 되돌린 시점을 마지막 활동으로 본다.
+     * 보관된 뒤 팀이 삭제되었으면 팀 없이 되돌린다.
+     */
+    public int restore(Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return 0;
+        }
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", memberIds).addValue("now", LocalDateTime.now());
+            int restored = jdbcTemplate.update("insert into member (member_id, username, age, team_id, last_active_at)" +
+                    " select a.member_id, a.username, a.age, t.id, :now" +
+                    " from member_archive a left join team t on a.team_id = t.id where a.member_id in (:ids)", params);
+            jdbcTemplate.update("delete from member_archive where member_id in (:ids)", params);
+            if (restored > 0) {
+                eventPublisher.publishEvent(new BulkChangedEvent("Member", ChangeType.CREATED, restored, null,
+                        Collections.min(memberIds), Collections.max(memberIds)));   // 커밋 후 반영
+            }
+            return restored;
+        });
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cutoff) {
+        // for update: 옮기는 도중 recordActivity()가 끼어들면 활동이 기록된 회원을 옮기게 되므로 chunk가 커밋될 때까지 막는다.
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select member_id from member where last_active_at < :cutoff order by member_id limit :limit for update",
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("now", LocalDateTime.now());
+        jdbcTemplate.update("insert into member_archive (member_id, username, age, team_id, last_active_at, archived_at)" +
+                " select member_id, username, age, team_id, last_active_at, :now from member where member_id in (:ids)", params);
+        jdbcTemplate.update("delete from member where member_id in (:ids)", params);
+        outboxWriter.ifAvailable(writer -> writer.writeBulk(new BulkChangedEvent("Member", ChangeType.DELETED, ids.size(),
+                "last_active_at < " + cutoff, ids.get(0), ids.get(ids.size() - 1))));
+        return ids;
+    }
+}
@@ -0,0 +1,190 @@
+package study.querydsl.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberIngestFailure;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원 생성 요청을 큐에 모아두었다가 배치 단위 트랜잭션으로 저장하는 write-behind 적재 서비스
+// 요청 스레드는 큐에 넣기만 하고 바로 반환되며, 저장은 flusher 스레드가 크기/시간 조건에 따라 몰아서 처리한다.
+@Slf4j
+@Service
+public class MemberIngestService {
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int capacity;
+    private final int batchSize;
+
+    // lock-free 큐 + CAS 카운터로 용량을 제한한다. (ConcurrentLinkedQueue.size()는 O(n)이라 별도로 센다)
+    private final ConcurrentLinkedQueue<MemberCreateRequest> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public MemberIngestService(EntityManager em,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${member.ingest.capacity:10000}") int capacity,
+                               @Value("${member.ingest.batch-size:500}") int batchSize,
+                               @Value("${member.ingest.flush-interval-ms:200}") long flushIntervalMs) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-ingest-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 시간 조건 - 배치가 다 차지 않아도 flushIntervalMs마다 쌓인 요청을 저장
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 회원 생성 요청을 큐에 넣는다. 큐가 가득 차 있으면 넣지 않고 false를 반환한다. (backpressure)
+     * 종료(shutdown)된 뒤에는 IllegalStateException을 던진다.
+     */
+    public boolean offer(MemberCreateRequest request) {
+        if (closed) {
+            throw new IllegalStateException("member ingest service is shut down");
+        }
+        int current;
+        do {
+            current = queued.get();
+            if (current >= capacity) {
+                rejected.incrementAndGet();
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+
+        queue.offer(request);
+
+        // 넣는 사이에 종료가 시작됐다면, 종료 시의 마지막 flush가 아직 가져가지 않은 경우에만 되돌리고 거절한다.
+        if (closed && queue.remove(request)) {
+            queued.decrementAndGet();
+            throw new IllegalStateException("member ingest service is shut down");
+        }
+        accepted.incrementAndGet();
+
+        // 크기 조건 - 배치 하나가 채워지면 주기를 기다리지 않고 바로 flush 요청
+        if (current + 1 >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);  // 종료 중, 남은 요청은 shutdown()의 flush가 저장한다.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 큐에 쌓인 요청을 모두 저장한다. 저장된 건수를 반환한다.
+     */
+    public synchronized long flush() {
+        long count = 0;
+        List<MemberCreateRequest> batch = new ArrayList<>(batchSize);
+        MemberCreateRequest request;
+        while ((request = queue.poll()) != null) {
+            batch.add(request);
+            if (batch.size() == batchSize) {
+                count += persistBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            count += persistBatch(batch);
+        }
+        return count;
+    }
+
+    public Stats stats() {
+        return new Stats(accepted.get(), rejected.get(), persisted.get(), failed.get(), queued.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flusher.shutdown();
+        flush();    // 종료 전에 남아있는 요청은 마저 저장
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("member ingest flush failed", e);
+        }
+    }
+
+    private long persistBatch(List<MemberCreateRequest> batch) {
+        queued.addAndGet(-batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::persist));
+            persisted.addAndGet(batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("member ingest batch failed, retrying one by one. size={}", batch.size(), e);
+        }
+
+        // 배치가 실패하면 한 건씩 다시 저장해서 실패 원인이 된 요청만 골라낸다.
+        long count = 0;
+        for (MemberCreateRequest request : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(request));
+                persisted.incrementAndGet();
+                count++;
+            } catch (RuntimeException e) {
+                recordFailure(request, e);
+            }
+        }
+        return count;
+    }
+
+    private void persist(MemberCreateRequest request) {
+        Member member = new Member(request.getUsername(), request.getAge());
+        if (request.getTeamId() != null) {
+            // changeTeam()을 쓰면 팀 프록시가 초기화되므로 연관관계의 주인 쪽만 세팅한다.
+            member.setTeam(em.getReference(Team.class, request.getTeamId()));
+        }
+        em.persist(member);
+    }
+
+    private void recordFailure(MemberCreateRequest request, RuntimeException cause) {
+        failed.incrementAndGet();
+        try {
+            transactionTemplate.executeWithoutResult(status -> em.persist(new MemberIngestFailure(
+                    request.getUsername(), request.getAge(), request.getTeamId(), cause.getMessage())));
+        } catch (RuntimeException e) {
+            log.error("failed to record member ingest failure. request={}", request, e);
+        }
+    }
+
+    public record Stats(long accepted, long rejected, long persisted, long failed, int queued) {
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import study.querydsl.cache.MemberSearchCache;
+import study.querydsl.dto.CountMode;
+import study.querydsl.dto.CountedPage;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRecord;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.springframework.util.CollectionUtils.isEmpty;
+import static org.springframework.util.StringUtils.hasText;
+
+// 트래픽이 몰릴 때 같은 조건, 같은 페이지의 검색이 동시에 여러 번 들어오면
+// content/count 쿼리를 한 번만 실행하고 결과를 대기 중인 요청들에 나눠준다. (single-flight)
+// 페이징 없는 search(condition), searchByWhere(condition)는 결과 캐시(MemberSearchCache)를 거친다.
+@Service
+public class MemberSearchService {
+
+    private final MemberRepository memberRepository;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberSearchCache memberSearchCache;
+    private final SingleFlight<SearchKey, CountedPage<MemberTeamRecord>> pageRecordFlight = new SingleFlight<>();
+
+    public MemberSearchService(MemberRepository memberRepository, MemberJpaRepository memberJpaRepository,
+                               MemberSearchCache memberSearchCache) {
+        this.memberRepository = memberRepository;
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberSearchCache = memberSearchCache;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return memberSearchCache.get("search", SearchKey.of(condition, Pageable.unpaged()),
+                () -> memberRepository.search(condition));
+    }
+
+    // /v1/members, 보관된 회원은 포함하지 않는다. (MemberJpaRepository.searchByWhere)
+    public List<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
+        return memberSearchCache.get("searchByWhere", SearchKey.of(condition, Pageable.unpaged()),
+                () -> memberJpaRepository.searchByWhere(condition));
+    }
+
+    public CountedPage<MemberTeamRecord> searchPageRecord(MemberSearchCondition condition, Pageable pageable,
+                                                          CountMode countMode) {
+        return pageRecordFlight.execute(SearchKey.of(condition, pageable, countMode),
+                () -> memberRepository.searchPageRecord(condition, pageable, countMode));
+    }
+
+    public SingleFlight<SearchKey, CountedPage<MemberTeamRecord>> pageRecordFlight() {
+        return pageRecordFlight;
+    }
+
+    // 결과가 같은 조건은 같은 키가 되도록 정규화한다.
+    // - 빈 문자열 조건은 조건 없음(null)과 같다.
+    // - 회원명이 없으면 usernameMatch는 의미가 없고, 회원명이 있는데 usernameMatch가 없으면 EXACT
+    // - 팀명 목록은 순서와 중복이 의미가 없으므로 정렬된 집합으로 만든다.
+    record SearchKey(String userName, UsernameMatch usernameMatch, String teamName, SortedSet<String> teamNames,
+                     Integer ageGoe, Integer ageLoe, boolean includeArchived, Pageable pageable, CountMode countMode) {
+
+        static SearchKey of(MemberSearchCondition condition, Pageable pageable) {
+            return of(condition, pageable, CountMode.EXACT);
+        }
+
+        static SearchKey of(MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+            String userName = hasText(condition.getUserName()) ? condition.getUserName() : null;
+            UsernameMatch match = userName == null ? null
+                    : condition.getUsernameMatch() != null ? condition.getUsernameMatch() : UsernameMatch.EXACT;
+            return new SearchKey(
+                    userName,
+                    match,
+                    hasText(condition.getTeamName()) ? condition.getTeamName() : null,
+                    isEmpty(condition.getTeamNames()) ? null : new TreeSet<>(condition.getTeamNames()),
+                    condition.getAgeGoe(),
+                    condition.getAgeLoe(),
+                    condition.isIncludeArchived(),
+                    pageable,
+                    countMode);
+        }
+    }
+}
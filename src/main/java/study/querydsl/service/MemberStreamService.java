@@ -0,0 +1,54 @@
+package study.querydsl.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 회원 검색 결과를 Flux로 흘려보내는 서비스
+// - 블로킹 JPA 조회는 스레드 수가 제한된 전용 scheduler에서 실행한다. (요청 스레드, 서블릿 스레드를 붙잡지 않음)
+// - keyset 페이징(searchAfter)으로 chunkSize개씩 조회하고, 조회할 때마다 커넥션을 바로 반납한다.
+// - 다음 chunk는 클라이언트가 이전 chunk를 다 받아간 뒤(downstream 요청이 있을 때)에만 조회한다. (backpressure)
+//   느린 클라이언트라도 메모리에는 chunk 하나만 남고 DB 커넥션은 잡고 있지 않는다.
+@Service
+public class MemberStreamService {
+
+    private final MemberRepository memberRepository;
+    private final int chunkSize;
+    private final Scheduler scheduler;
+
+    public MemberStreamService(MemberRepository memberRepository,
+                               @Value("${member.stream.chunk-size:500}") int chunkSize,
+                               @Value("${member.stream.threads:8}") int threads) {
+        this.memberRepository = memberRepository;
+        this.chunkSize = chunkSize;
+        this.scheduler = Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "member-stream");
+    }
+
+    public Flux<MemberTeamDto> stream(MemberSearchCondition condition) {
+        return fetchAfter(condition, null)
+                .expand(chunk -> chunk.size() < chunkSize
+                        ? Mono.empty()  // 마지막 chunk
+                        : fetchAfter(condition, chunk.get(chunk.size() - 1).getMemberId()))
+                .concatMapIterable(Function.identity(), 1);    // chunk를 하나씩만 미리 가져온다.
+    }
+
+    private Mono<List<MemberTeamDto>> fetchAfter(MemberSearchCondition condition, Long lastMemberId) {
+        return Mono.fromCallable(() -> memberRepository.searchAfter(condition, lastMemberId, chunkSize))
+                .subscribeOn(scheduler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
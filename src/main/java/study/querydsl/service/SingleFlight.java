@@ -0,0 +1,68 @@
+package study.querydsl.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 같은 키로 동시에 들어온 요청 중 먼저 온 하나(leader)만 실제로 실행하고,
+// 실행 중에 들어온 나머지 요청은 그 결과(또는 예외)를 같이 받는다.
+// 실행이 끝나면 키를 지우므로 결과를 캐시하지는 않는다. (캐시는 SearchResponseCache 등에서 따로 처리)
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return await(existing);
+        }
+
+        executed.incrementAndGet();
+        try {
+            V result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * 실제로 실행된 횟수
+     */
+    public long executed() {
+        return executed.get();
+    }
+
+    /**
+     * 다른 요청의 실행 결과를 같이 받은 횟수
+     */
+    public long shared() {
+        return shared.get();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // leader가 던진 예외를 그대로 다시 던진다.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
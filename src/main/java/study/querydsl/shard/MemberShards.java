@@ -0,0 +1,70 @@
+package study.querydsl.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 회원/팀 데이터를 나눠 저장하는 샤드 목록. member.sharding.enabled=true일 때만 등록된다.
+// - 샤드마다 DataSource 하나 (member.sharding.urls, 기본값은 로컬 인메모리 H2 2개)
+// - 팀 id, 회원 id의 하위 자리에 샤드 번호를 넣는다. (id = 샤드별 시퀀스 * 샤드 수 + 샤드 번호)
+//   id만 보고 샤드를 찾을 수 있으므로 별도의 라우팅 테이블이 필요 없다.
+// - 회원은 소속 팀과 같은 샤드에 저장해서 회원-팀 join이 샤드 안에서 끝나도록 한다.
+// - 샤드 스키마는 schema-faststart.sql(엔티티와 같은지 FaststartProfileTest가 확인하는 스키마)로 만든다.
+//   시퀀스가 increment by 50이라 샤드별 시퀀스 값에 간격이 생기지만 id가 겹치지는 않는다.
+// 샤드 수를 바꾸면 기존 id의 샤드 계산이 달라지므로 재분배가 필요하다.
+@Component
+@ConditionalOnProperty(name = "member.sharding.enabled", havingValue = "true")
+public class MemberShards {
+
+    // create ... if not exists만 있으므로 이미 스키마가 있는 샤드에서는 아무것도 하지 않는다.
+    private static final ResourceDatabasePopulator SCHEMA =
+            new ResourceDatabasePopulator(new ClassPathResource("schema-faststart.sql"));
+
+    private final List<NamedParameterJdbcTemplate> shards = new ArrayList<>();
+
+    public MemberShards(@Value("${member.sharding.urls:jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1}")
+                        List<String> urls,
+                        @Value("${member.sharding.username:sa}") String username,
+                        @Value("${member.sharding.password:}") String password) {
+        for (String url : urls) {
+            // 로컬 검증용이라 커넥션 풀 없이 연결한다. 운영에서는 샤드마다 HikariDataSource를 둔다.
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(url, username, password);
+            SCHEMA.execute(dataSource);
+            shards.add(new NamedParameterJdbcTemplate(dataSource));
+        }
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public NamedParameterJdbcTemplate shard(int index) {
+        return shards.get(index);
+    }
+
+    public List<NamedParameterJdbcTemplate> all() {
+        return shards;
+    }
+
+    /**
+     * id가 저장된 샤드 번호
+     */
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shards.size());
+    }
+
+    /**
+     * index 샤드의 시퀀스로 새 id를 만든다.
+     */
+    public long nextId(int index, String sequence) {
+        Long next = shard(index).getJdbcTemplate().queryForObject("select next value for " + sequence, Long.class);
+        return next * shards.size() + index;
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.sql;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// JPAQueryFactory 옆에 querydsl-sql의 SQLQueryFactory를 등록한다.
+// 엔티티/HQL 변환, 영속성 컨텍스트를 거치지 않고 SQL을 바로 실행하는 읽기 전용 조회용
+// SpringConnectionProvider는 현재 트랜잭션의 커넥션을 사용하므로 트랜잭션 안에서만 쓸 수 있다.
+@org.springframework.context.annotation.Configuration
+public class QuerydslSqlConfig {
+
+    @Bean
+    public Configuration querydslSqlConfiguration() {
+        Configuration configuration = new Configuration(H2Templates.builder().build());
+        configuration.setExceptionTranslator(new SpringExceptionTranslator());     // SQLException -> DataAccessException
+        return configuration;
+    }
+
+    @Bean
+    public SQLQueryFactory sqlQueryFactory(Configuration querydslSqlConfiguration, DataSource dataSource) {
+        return new SQLQueryFactory(querydslSqlConfiguration, new SpringConnectionProvider(dataSource));
+    }
+}
@@ -0,0 +1,83 @@
+package study.querydsl.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import study.querydsl.event.DataVersion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// 회원 검색 API의 조건부 요청(ETag) 처리와 응답 캐시
+// - ETag = 데이터 버전 epoch + 버전 + (endpoint, 검색 조건, 페이지, Accept) 해시
+//   epoch: 재시작/다른 인스턴스의 같은 버전 번호와 구분, Accept: JSON/CBOR/Smile 응답이 같은 ETag를 갖지 않도록
+// - If-None-Match가 현재 ETag와 같으면 DB 조회 없이 304 Not Modified
+// - 아니면 (endpoint, 조건, 페이지, 데이터 버전)을 키로 하는 LRU 캐시를 먼저 확인하고, 없을 때만 조회한다.
+//   데이터가 바뀌면 버전이 올라가서 이전 버전의 캐시는 더 이상 조회되지 않고 LRU로 밀려난다.
+//   LRU는 개수(max-entries)로만 제한하므로 한 페이지 크기의 응답만 캐시한다. 페이지 없는 응답(/v1 전체 목록)은
+//   크기 제한이 없으므로 캐시하지 않는다. (/v1의 조회 결과는 행 수로 제한되는 MemberSearchCache에 캐시된다.)
+@Component
+public class SearchResponseCache {
+
+    private final DataVersion dataVersion;
+    private final Map<Key, Object> cache;
+
+    public SearchResponseCache(DataVersion dataVersion,
+                               @Value("${member.response-cache.max-entries:256}") int maxEntries) {
+        this.dataVersion = dataVersion;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * If-None-Match가 현재 ETag와 같으면 body 없는 304, 아니면 ETag를 붙인 200 응답을 반환한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> respond(WebRequest request, String endpoint, Object condition, Pageable pageable,
+                                         Supplier<T> loader) {
+        // 조회 전에 버전을 읽어야 조회 도중 커밋된 변경이 있어도 오래된 결과가 새 버전으로 저장되지 않는다.
+        long version = dataVersion.current();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String etag = "W/\"" + dataVersion.epoch() + "-" + version + "-"
+                + Integer.toHexString(Objects.hash(endpoint, condition, pageable, accept)) + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        T body;
+        if (pageable.isUnpaged()) {
+            body = loader.get();
+        } else {
+            Key key = new Key(endpoint, condition, pageable, version);
+            body = (T) cache.get(key);
+            if (body == null) {
+                body = loader.get();
+                cache.put(key, body);
+            }
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())  // 클라이언트는 매번 ETag로 재검증
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private record Key(String endpoint, Object condition, Pageable pageable, long version) {
+    }
+}
@@ -0,0 +1,76 @@
+-- faststart 프로파일용 스키마 (application-faststart.yml)
+-- Hibernate 스키마 생성(ddl-auto: create) 대신 이 스크립트로 만들고 Hibernate는 validate만 한다.
+-- 엔티티를 바꾸면 이 파일도 같이 바꿔야 한다. (FaststartProfileTest가 validate로 확인)
+-- querydsl-sql 쿼리 타입(SMember, STeam)도 빌드 시 이 파일로 생성한다. (build.gradle generateQuerydslSql)
+
+create sequence if not exists hello_seq start with 1 increment by 50;
+create sequence if not exists member_seq start with 1 increment by 50;
+create sequence if not exists member_ingest_failure_seq start with 1 increment by 50;
+create sequence if not exists team_seq start with 1 increment by 50;
+
+create table if not exists hello (
+    id bigint not null,
+    primary key (id)
+);
+
+create table if not exists team (
+    id bigint not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists member (
+    member_id bigint not null,
+    age integer not null,
+    last_active_at timestamp(6),
+    team_id bigint,
+    username varchar(255),
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team
+);
+create index if not exists idx_member_username on member (username);
+create index if not exists idx_member_last_active_at on member (last_active_at);
+
+create table if not exists member_archive (
+    member_id bigint not null,
+    age integer not null,
+    archived_at timestamp(6),
+    last_active_at timestamp(6),
+    team_id bigint,
+    username varchar(255),
+    primary key (member_id)
+);
+
+create table if not exists member_ingest_failure (
+    id bigint not null,
+    age integer not null,
+    failed_at timestamp(6),
+    reason varchar(1000),
+    team_id bigint,
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists member_team_read (
+    member_id bigint not null,
+    age integer not null,
+    team_id bigint,
+    team_name varchar(255),
+    username varchar(255),
+    primary key (member_id)
+);
+create index if not exists idx_member_team_read_username on member_team_read (username);
+create index if not exists idx_member_team_read_team_name_age on member_team_read (team_name, age);
+create index if not exists idx_member_team_read_age on member_team_read (age);
+
+create table if not exists outbox_event (
+    id bigint generated by default as identity,
+    aggregate_id bigint,
+    aggregate_type varchar(255),
+    created_at timestamp(6),
+    event_type varchar(255),
+    payload varchar(2000),
+    published_at timestamp(6),
+    primary key (id)
+);
+create index if not exists idx_outbox_event_published_at on outbox_event (published_at, id);
@@ -0,0 +1,45 @@
+package study.querydsl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.event.DataVersion;
+import study.querydsl.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// faststart 프로파일: schema-faststart.sql로 만든 스키마가 엔티티와 맞는지(ddl-auto: validate),
+// 지연 초기화에서도 변경 이벤트가 발행되는지 확인한다. 다른 테스트와 스키마가 섞이지 않도록 별도의 DB를 사용한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:faststart;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "inmemory", "faststart"})
+class FaststartProfileTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    DataVersion dataVersion;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @DisplayName("스크립트로 만든 스키마로 시작하고, 커밋하면 데이터 버전이 올라간다")
+    @Test
+    void startWithValidatedSchema() {
+        long version = dataVersion.current();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.save(new Member("member1", 10)));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("member1");
+        assertThat(memberRepository.search(condition)).extracting("username").containsExactly("member1");
+        assertThat(dataVersion.current()).isGreaterThan(version);
+    }
+}
@@ -0,0 +1,152 @@
+package study.querydsl.cache;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.MemberSearchService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+// 캐시 무효화는 커밋 후에 일어나므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest(properties = "member.search-cache.l2=in-memory")
+class MemberSearchCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberSearchService memberSearchService;
+
+    @Autowired
+    MemberSearchCache memberSearchCache;
+
+    @Autowired
+    InMemorySearchResultStore remoteStore;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+        });
+        memberSearchCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @DisplayName("같은 조건은 캐시에서 조회되고, 회원 변경이 커밋되면 무효화된다")
+    @Test
+    void hitAndInvalidate() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        long hits = memberSearchCache.stats().hitCount();
+        int stored = remoteStore.size();
+
+        List<MemberTeamDto> first = memberSearchService.search(condition);
+        List<MemberTeamDto> second = memberSearchService.search(condition);
+
+        assertThat(first).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+        assertThat(second).isSameAs(first);
+        assertThat(memberSearchCache.stats().hitCount()).isEqualTo(hits + 1);
+        assertThat(remoteStore.size()).isEqualTo(stored + 1);
+
+        tx.executeWithoutResult(status -> {
+            Team teamA = em.createQuery("select t from Team t where t.name = 'teamA'", Team.class).getSingleResult();
+            em.persist(new Member("member3", 30, teamA));
+        });
+
+        // 2차 캐시는 비우지 않고 공유 버전만 올라가므로, 새 버전 키로 다시 저장된다.
+        assertThat(memberSearchService.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(remoteStore.size()).isEqualTo(stored + 2);
+    }
+
+    @DisplayName("/v1의 searchByWhere 결과도 캐시되고, 회원 변경이 커밋되면 무효화된다")
+    @Test
+    void searchByWhere() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        long hits = memberSearchCache.stats().hitCount();
+
+        List<MemberTeamDto> first = memberSearchService.searchByWhere(condition);
+
+        assertThat(memberSearchService.searchByWhere(condition)).isSameAs(first);
+        assertThat(memberSearchCache.stats().hitCount()).isEqualTo(hits + 1);
+
+        tx.executeWithoutResult(status -> em.persist(new Member("member3", 30)));
+        condition.setTeamName(null);
+        condition.setAgeGoe(25);
+        memberSearchService.searchByWhere(condition);
+        tx.executeWithoutResult(status -> em.persist(new Member("member4", 40)));
+
+        assertThat(memberSearchService.searchByWhere(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member3", "member4");
+    }
+
+    @DisplayName("1차 캐시에 없으면 같은 공유 버전의 2차 캐시 결과를 사용한다 (다른 인스턴스)")
+    @Test
+    void sharedSecondTier() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        int stored = remoteStore.size();
+        List<MemberTeamDto> first = memberSearchService.search(condition);
+
+        // 이벤트 없이 DB만 바꾸고 1차 캐시만 비운다. 2차에서 가져오면 바뀌기 전 결과가 나온다.
+        jdbcTemplate.update("update member set age = age + 100");
+        memberSearchCache.evictLocal();
+
+        assertThat(memberSearchService.search(condition)).isEqualTo(first);
+        assertThat(remoteStore.size()).isEqualTo(stored + 1);
+    }
+
+    @DisplayName("벌크 연산이 커밋되어도 무효화된다")
+    @Test
+    void bulkInvalidate() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        assertThat(memberSearchService.search(condition)).extracting("username").containsExactly("member2");
+
+        tx.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(10))
+                .execute());
+
+        assertThat(memberSearchService.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+    }
+}
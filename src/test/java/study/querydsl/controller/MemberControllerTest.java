@@ -0,0 +1,132 @@
+package study.querydsl.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 데이터 버전은 커밋된 변경으로만 올라가므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member").executeUpdate());
+    }
+
+    @DisplayName("ETag가 같으면 304, 데이터가 바뀌면 새 ETag로 200")
+    @Test
+    void conditionalRequest() throws Exception {
+        String etag = mockMvc.perform(get("/v3/members").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v3/members").param("teamName", "teamA").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // 다른 조건은 다른 ETag
+        String otherEtag = mockMvc.perform(get("/v3/members").param("teamName", "teamB"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(otherEtag).isNotEqualTo(etag);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.persist(new Member("member1", 10)));
+
+        String newEtag = mockMvc.perform(get("/v3/members").param("teamName", "teamA").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @DisplayName("/v1도 usernameMatch로 회원명 일치 방식을 고른다")
+    @Test
+    void v1UsernameMatch() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.persist(new Member("member1", 10));
+            em.persist(new Member("member2", 20));
+            em.persist(new Member("user1", 30));
+        });
+
+        mockMvc.perform(get("/v1/members").param("userName", "mem").param("usernameMatch", "PREFIX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].username").value(hasItem("member1")))
+                .andExpect(jsonPath("$[*].username").value(hasItem("member2")));
+
+        mockMvc.perform(get("/v1/members").param("userName", "mem"))     // 기본값은 EXACT
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @DisplayName("/v3는 기존 Page 형식, /v5는 {content, nextCursor, total} 형식으로 응답한다")
+    @Test
+    void pageFormats() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.persist(new Member("member1", 10));
+            em.persist(new Member("member2", 20));
+        });
+
+        mockMvc.perform(get("/v3/members").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("member1"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/v5/members").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("member1"))
+                .andExpect(jsonPath("$.nextCursor").value("1"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @DisplayName("Accept 헤더로 CBOR, Smile 응답을 받을 수 있다")
+    @Test
+    void binaryFormats() throws Exception {
+        mockMvc.perform(get("/v1/members").accept(MediaType.valueOf("application/cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+
+        mockMvc.perform(get("/v1/members").accept(MediaType.valueOf("application/x-jackson-smile")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"));
+
+        // 응답 형식이 다르면 ETag도 다르다.
+        String jsonEtag = mockMvc.perform(get("/v1/members").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/members").accept(MediaType.valueOf("application/cbor"))
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+}
@@ -0,0 +1,49 @@
+package study.querydsl.dataset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 생성된 데이터가 다른 테스트에 섞이지 않도록 별도의 인메모리 DB를 사용한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dataset;DB_CLOSE_DELAY=-1",
+        "dataset.members=1000",
+        "dataset.teams=10"
+})
+class DatasetGeneratorTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @DisplayName("시작 시 설정한 규모만큼 같은 규칙의 데이터가 생성된다")
+    @Test
+    void generate() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member", Long.class)).isEqualTo(1000);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from team", Long.class)).isEqualTo(10);
+
+        Map<String, Object> member7 = jdbcTemplate.queryForMap(
+                "select m.username, m.age, t.name, m.last_active_at from member m join team t on m.team_id = t.id where m.member_id = 7");
+        assertThat(member7.get("USERNAME")).isEqualTo("member7");
+        assertThat(member7.get("AGE")).isEqualTo(7);
+        assertThat(member7.get("NAME")).isEqualTo("team8");
+        assertThat(((Timestamp) member7.get("LAST_ACTIVE_AT")).toLocalDateTime())
+                .isEqualTo(LocalDateTime.of(2023, 12, 25, 0, 0));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team1");
+        assertThat(memberRepository.search(condition)).hasSize(100);
+    }
+}
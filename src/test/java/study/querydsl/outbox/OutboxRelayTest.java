@@ -0,0 +1,176 @@
+package study.querydsl.outbox;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.MemberArchiveService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+// outbox 행은 커밋/롤백 여부를 확인해야 하므로 @Transactional 롤백 대신 직접 정리한다.
+// relay, prune은 테스트에서 직접 호출한다. (주기 실행은 사실상 끔)
+@SpringBootTest(properties = {"member.outbox.enabled=true", "member.outbox.interval-ms=3600000",
+        "member.outbox.prune-interval-ms=3600000", "member.outbox.retention-hours=0", "member.archive.chunk-size=2"})
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    OutboxRelay outboxRelay;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberArchiveService memberArchiveService;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from ArchivedMember").executeUpdate();
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @DisplayName("변경과 같은 트랜잭션에서 outbox 행이 저장되고, relay가 발행한다")
+    @Test
+    void relay() {
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            em.persist(new Member("member1", 10, teamA));
+        });
+        tx.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.age.goe(10))
+                .execute());
+
+        long relayed = outboxRelay.relay();
+
+        assertThat(relayed).isEqualTo(3);
+        List<OutboxMessage> messages = events.stream(OutboxMessage.class).toList();
+        assertThat(messages).extracting("eventType").containsExactly("TeamChanged", "MemberChanged", "BulkChanged");
+        assertThat(messages).extracting("id").isSorted();
+        assertThat(messages.get(2).aggregateId()).isNull();     // 벌크 변경은 range 이벤트
+        assertThat(messages.get(2).payload()).contains("\"condition\":\"member.age >= 10\"");
+        assertThat(outboxRelay.relay()).isZero();               // 이미 발행된 행은 다시 보내지 않는다.
+    }
+
+    @DisplayName("변경이 롤백되면 outbox 행도 남지 않는다")
+    @Test
+    void rollback() {
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            em.persist(new Member("member1", 10));
+            em.flush();
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxRelay.relay()).isZero();
+    }
+
+    @DisplayName("다른 트랜잭션이 잡고 있는 행은 건너뛰고, 잠금이 풀리면 발행한다")
+    @Test
+    void skipLocked() throws Exception {
+        tx.executeWithoutResult(status -> em.persist(new Member("member1", 10)));
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select id from outbox_event where published_at is null for update");
+            locked.countDown();
+            await(release);
+        }));
+        await(locked);
+
+        assertThat(outboxRelay.relay()).isZero();
+
+        release.countDown();
+        otherRelay.get(5, TimeUnit.SECONDS);
+        assertThat(outboxRelay.relay()).isEqualTo(1);
+    }
+
+    @DisplayName("여러 트랜잭션에 나눠서 보관하면 chunk마다 같은 트랜잭션에서 id 범위의 outbox 행이 저장된다")
+    @Test
+    void archiveChunks() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 1; i <= 3; i++) {
+                Member member = new Member("member" + i, 10);
+                member.setLastActiveAt(LocalDateTime.now().minusYears(2));
+                em.persist(member);
+            }
+        });
+        outboxRelay.relay();
+
+        assertThat(memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusYears(1))).isEqualTo(3);
+        outboxRelay.relay();
+
+        // 작업이 끝난 뒤의 알림(트랜잭션 밖)은 다시 저장되지 않는다.
+        List<OutboxMessage> bulk = events.stream(OutboxMessage.class)
+                .filter(message -> message.eventType().equals("BulkChanged"))
+                .toList();
+        assertThat(bulk).hasSize(2);
+        assertThat(bulk.get(0).payload()).contains("\"affectedRows\":2", "\"minId\"", "\"maxId\"");
+        assertThat(bulk.get(1).payload()).contains("\"affectedRows\":1");
+    }
+
+    @DisplayName("보관 기간이 지난 발행된 행만 삭제한다")
+    @Test
+    void prune() {
+        tx.executeWithoutResult(status -> em.persist(new Member("member1", 10)));
+        assertThat(outboxRelay.prune()).isZero();               // 아직 발행되지 않은 행은 남긴다.
+
+        outboxRelay.relay();
+
+        assertThat(outboxRelay.prune()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_event", Long.class)).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
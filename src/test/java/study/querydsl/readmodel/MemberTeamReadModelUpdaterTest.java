@@ -0,0 +1,135 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberReadModelRepository;
+import study.querydsl.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+// 읽기 테이블은 커밋 후에 갱신되므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest(properties = "member.read-model.enabled=true")
+class MemberTeamReadModelUpdaterTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberReadModelRepository memberReadModelRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long member1Id;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40));
+            teamAId = teamA.getId();
+            member1Id = member1.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from MemberTeamReadModel").executeUpdate();
+        });
+    }
+
+    @DisplayName("커밋된 회원 저장/삭제가 읽기 테이블에 반영된다")
+    @Test
+    void memberChanges() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        assertThat(memberReadModelRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3", "member4");
+
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, member1Id)));
+
+        condition.setTeamName("teamA");
+        assertThat(memberReadModelRepository.search(condition)).extracting("username").containsExactly("member2");
+    }
+
+    @DisplayName("팀 이름을 바꾸면 소속 회원의 팀 이름이 한 번에 바뀐다")
+    @Test
+    void teamRename() {
+        tx.executeWithoutResult(status -> em.find(Team.class, teamAId).setName("teamZ"));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamZ");
+        Page<MemberTeamDto> page = memberReadModelRepository.searchPage(condition, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("벌크 연산 후에는 읽기 테이블을 다시 만든다")
+    @Test
+    void bulkRebuild() {
+        tx.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(100))
+                .execute());
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(100);
+        assertThat(memberReadModelRepository.search(condition)).hasSize(4);
+    }
+
+    @DisplayName("읽기 테이블이 켜져 있으면 MemberRepository 검색도 읽기 테이블을 조회한다")
+    @Test
+    void repositoryUsesReadModel() {
+        // 읽기 테이블에만 다른 값을 넣어서 어느 테이블을 조회했는지 구분한다.
+        jdbcTemplate.update("update member_team_read set username = 'fromReadModel' where member_id = ?", member1Id);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        assertThat(memberRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("fromReadModel", "member2");
+
+        Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(memberRepository.searchAfter(condition, null, 10)).extracting("username")
+                .containsExactly("fromReadModel", "member2");
+    }
+}
@@ -0,0 +1,41 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+class InClausesTest {
+
+    @DisplayName("목록 길이를 2의 거듭제곱으로 맞춘다")
+    @Test
+    void padded() {
+        assertThat(InClauses.padded(List.of(1))).containsExactly(1);
+        assertThat(InClauses.padded(List.of(1, 2))).containsExactly(1, 2);
+        assertThat(InClauses.padded(List.of(1, 2, 3))).containsExactly(1, 2, 3, 3);
+        assertThat(InClauses.padded(List.of(1, 2, 3, 4, 5))).hasSize(8).endsWith(5, 5, 5, 5);
+    }
+
+    @DisplayName("중복은 제거하고, 빈 목록은 조건 없음")
+    @Test
+    void distinctAndEmpty() {
+        assertThat(InClauses.in(member.id, List.of())).isNull();
+        assertThat(InClauses.in(member.id, List.of(1L, 1L, 2L))).isEqualTo(member.id.in(List.of(1L, 2L)));
+    }
+
+    @DisplayName("최대 파라미터 수보다 길면 나눠서 or로 묶는다")
+    @Test
+    void chunked() {
+        List<Long> ids = LongStream.rangeClosed(1, InClauses.MAX_PARAMETERS + 1).boxed().toList();
+
+        BooleanExpression expression = InClauses.in(member.id, ids);
+
+        assertThat(expression).isEqualTo(member.id.in(ids.subList(0, InClauses.MAX_PARAMETERS))
+                .or(member.id.in(List.of((long) ids.size()))));
+    }
+}
@@ -0,0 +1,82 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberJdbcRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJdbcRepository memberJdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+
+        em.flush();     // JDBC로 조회하므로 영속성 컨텍스트의 내용을 먼저 DB에 반영
+    }
+
+    @DisplayName("JDBC 조회 - MemberTeamDto 생성자로 바로 변환")
+    @Test
+    void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(35);
+        condition.setAgeLoe(40);
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = memberJdbcRepository.search(condition);
+
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result.get(0).getTeamName()).isEqualTo("teamB");
+    }
+
+    @DisplayName("JDBC 조회 - 팀이 없는 회원은 teamId가 null")
+    @Test
+    void searchWithoutTeam() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("member5");
+
+        List<MemberTeamDto> result = memberJdbcRepository.search(condition);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTeamId()).isNull();
+    }
+
+    @DisplayName("JDBC 조회 - MemberDto")
+    @Test
+    void searchMemberDto() {
+        List<MemberDto> result = memberJdbcRepository.searchMemberDto(new MemberSearchCondition());
+        assertThat(result).extracting("age").containsExactlyInAnyOrder(10, 20, 30, 40, 50);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");     // 팀명 조건이 있을 때만 team join
+        assertThat(memberJdbcRepository.searchMemberDto(condition)).extracting("age").containsExactlyInAnyOrder(10, 20);
+    }
+}
@@ -8,8 +8,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.CountMode;
+import study.querydsl.dto.CountedPage;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRecord;
+import study.querydsl.dto.PageEnvelope;
+import study.querydsl.dto.UsernameMatch;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
@@ -70,6 +75,125 @@ class MemberRepositoryTest {
         assertThat(result).extracting("username").containsExactly( "member4");
     }
 
+    @DisplayName("회원명 앞부분 일치 검색")
+    @Test
+    void searchUsernamePrefixTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("user1", 30, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("mem");
+        condition.setUsernameMatch(UsernameMatch.PREFIX);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").containsExactly("member1", "member2");
+    }
+
+    @DisplayName("회원명 부분 일치 검색 - 대소문자 구분 없음")
+    @Test
+    void searchUsernameContainsTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("newMember", 20, teamA));
+        em.persist(new Member("user1", 30, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("MEMBER");
+        condition.setUsernameMatch(UsernameMatch.CONTAINS);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member1", "newMember");
+    }
+
+    @DisplayName("회원명 유사 검색 - 인덱스가 꺼져 있으면 부분 일치로 대체된다")
+    @Test
+    void searchUsernameFuzzyTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("user1", 30, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("ember1");
+        condition.setUsernameMatch(UsernameMatch.FUZZY);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").containsExactly("member1");
+    }
+
+    @DisplayName("나이대 순위 정렬 페이징 - 21~30살, 0~20살, 나머지 순")
+    @Test
+    void searchRankedTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 25, teamA));
+        em.persist(new Member("member4", 30, teamA));
+        em.persist(new Member("member5", 40, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        Page<MemberTeamDto> first = memberRepository.searchRanked(condition, PageRequest.of(0, 3));
+        Page<MemberTeamDto> second = memberRepository.searchRanked(condition, PageRequest.of(1, 3));
+
+        assertThat(first.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+        assertThat(second.getContent()).extracting("username").containsExactly("member1", "member5");
+        assertThat(first.getTotalElements()).isEqualTo(5);
+    }
+
+    @DisplayName("평균 나이보다 많은 회원, 팀별 최고령 회원")
+    @Test
+    void aggregateTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 40, teamB));
+        em.persist(new Member("member6", 50));
+
+        // 평균 31.66...
+        assertThat(memberRepository.findOlderThanAverage()).extracting("username")
+                .containsExactlyInAnyOrder("member4", "member5", "member6");
+        // 팀이 없는 member6은 제외, 동점은 모두
+        assertThat(memberRepository.findOldestPerTeam()).extracting("username")
+                .containsExactlyInAnyOrder("member2", "member4", "member5");
+    }
+
+    @DisplayName("팀명 목록 중 하나와 일치하는 회원 검색")
+    @Test
+    void searchTeamNamesTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamB));
+        em.persist(new Member("member3", 30, teamC));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamNames(List.of("teamA", "teamC", "teamD"));   // 3개 -> 4개로 padding
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member1", "member3");
+    }
+
     @DisplayName("Spring Data JPA에서 QueryDSL을 fetchResult를 사용한 페이징 테스트")
     @Test
     void searchPageSimpleTest() {
@@ -143,4 +267,75 @@ class MemberRepositoryTest {
         assertThat(result2.getContent()).extracting("username").containsExactly("member4");
     }
 
-}
\ No newline at end of file
+    @DisplayName("record로 페이징 조회 후 {content, nextCursor, total} 형태로 변환")
+    @Test
+    void searchPageRecordTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        Page<MemberTeamRecord> result1 = memberRepository.searchPageRecord(condition, PageRequest.of(0, 3));
+        PageEnvelope<MemberTeamRecord> envelope1 = PageEnvelope.of(result1);
+
+        assertThat(envelope1.content()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(envelope1.content().get(0).teamName()).isEqualTo("teamA");
+        assertThat(envelope1.nextCursor()).isEqualTo("1");
+        assertThat(envelope1.total()).isEqualTo(4);
+
+        PageEnvelope<MemberTeamRecord> envelope2 = PageEnvelope.of(
+                memberRepository.searchPageRecord(condition, PageRequest.of(1, 3)));
+
+        assertThat(envelope2.content()).extracting("username").containsExactly("member4");
+        assertThat(envelope2.content().get(0).teamId()).isNull();
+        assertThat(envelope2.nextCursor()).isNull();
+    }
+
+    @DisplayName("count 방식별 페이징 - 마지막 페이지는 항상 정확, NONE은 다음 페이지 여부만")
+    @Test
+    void searchPageRecordCountModeTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 1; i <= 5; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+        for (int i = 6; i <= 8; i++) {
+            em.persist(new Member("member" + i, i * 10, teamB));     // 조건에 맞지 않는 회원
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        CountedPage<MemberTeamRecord> exact = memberRepository.searchPageRecord(condition, PageRequest.of(0, 2), CountMode.EXACT);
+        assertThat(exact.content()).extracting("username").containsExactly("member1", "member2");
+        assertThat(exact.hasNext()).isTrue();
+        assertThat(exact.total()).isEqualTo(5);
+        assertThat(exact.totalExact()).isTrue();
+
+        // 조건이 있으면 테이블 전체 추정치(8건) 대신 상한 이내로 직접 세므로 건수가 적으면 정확한 값
+        CountedPage<MemberTeamRecord> estimated = memberRepository.searchPageRecord(condition, PageRequest.of(0, 2), CountMode.ESTIMATED);
+        assertThat(estimated.total()).isEqualTo(5);
+        assertThat(estimated.totalExact()).isTrue();
+
+        CountedPage<MemberTeamRecord> none = memberRepository.searchPageRecord(condition, PageRequest.of(1, 2), CountMode.NONE);
+        assertThat(none.content()).extracting("username").containsExactly("member3", "member4");
+        assertThat(none.hasNext()).isTrue();
+        assertThat(none.total()).isNull();
+        assertThat(PageEnvelope.of(none).nextCursor()).isEqualTo("2");
+
+        CountedPage<MemberTeamRecord> last = memberRepository.searchPageRecord(condition, PageRequest.of(2, 2), CountMode.NONE);
+        assertThat(last.content()).extracting("username").containsExactly("member5");
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.total()).isEqualTo(5);
+        assertThat(last.totalExact()).isTrue();
+    }
+
+}
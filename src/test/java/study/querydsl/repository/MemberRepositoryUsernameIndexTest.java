@@ -0,0 +1,83 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.search.UsernameIndexSynchronizer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// username n-gram 인덱스는 커밋된 데이터만 반영하므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest(properties = "member.username-index.enabled=true")
+class MemberRepositoryUsernameIndexTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    UsernameIndexSynchronizer usernameIndex;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("newMember", 20, teamA));
+            em.persist(new Member("user1", 30, teamA));
+        });
+        usernameIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @DisplayName("인덱스로 회원명 부분 일치 검색")
+    @Test
+    void searchContains() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("MEMBER");
+        condition.setUsernameMatch(UsernameMatch.CONTAINS);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member1", "newMember");
+    }
+
+    @DisplayName("인덱스로 회원명 유사 검색 - 오타가 있어도 찾는다")
+    @Test
+    void searchFuzzy() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("membr1");
+        condition.setUsernameMatch(UsernameMatch.FUZZY);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+        assertThat(result).extracting("username").contains("member1").doesNotContain("user1");
+    }
+}
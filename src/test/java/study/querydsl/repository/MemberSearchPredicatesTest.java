@@ -0,0 +1,48 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+class MemberSearchPredicatesTest {
+
+    private static final MemberSearchPredicates.Columns COLUMNS =
+            new MemberSearchPredicates.Columns(member.username, member.age, team.name);
+
+    @DisplayName("값이 있는 조건만 and로 묶고, 회원명 일치 방식의 기본값은 EXACT")
+    @Test
+    void querydsl() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("member1");
+        condition.setAgeGoe(10);
+
+        assertThat(MemberSearchPredicates.where(condition, COLUMNS).getValue())
+                .isEqualTo(member.username.eq("member1").and(member.age.goe(10)));
+        assertThat(MemberSearchPredicates.where(new MemberSearchCondition(), COLUMNS).getValue()).isNull();
+    }
+
+    @DisplayName("JDBC SQL도 같은 조건으로 만들어지고, FUZZY는 부분 일치로 대체된다")
+    @Test
+    void sql() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("Mem_");
+        condition.setUsernameMatch(UsernameMatch.FUZZY);
+        condition.setTeamNames(List.of("teamA", "teamB", "teamC"));
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        String where = MemberJdbcRepository.where(condition, params);
+
+        assertThat(where).isEqualTo(" where lower(m.username) like :username escape '!' and t.name in (:teamNames)");
+        assertThat(params.getValue("username")).isEqualTo("%mem!_%");
+        assertThat(params.getValue("teamNames")).isEqualTo(List.of("teamA", "teamB", "teamC", "teamC"));
+        assertThat(MemberJdbcRepository.where(new MemberSearchCondition(), new MapSqlParameterSource())).isEmpty();
+    }
+}
@@ -0,0 +1,127 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.shard.MemberShards;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "member.sharding.enabled=true",
+        "member.sharding.urls=jdbc:h2:mem:shard-test0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-test1;DB_CLOSE_DELAY=-1"
+})
+class ShardedMemberRepositoryTest {
+
+    @Autowired
+    MemberShards shards;
+
+    @Autowired
+    ShardedMemberRepository shardedMemberRepository;
+
+    Long teamA;
+    Long teamB;
+
+    @BeforeEach
+    void setUp() {
+        teamA = shardedMemberRepository.saveTeam("teamA");
+        teamB = shardedMemberRepository.saveTeam("teamB");
+        for (int i = 1; i <= 10; i++) {
+            Long teamId = i % 2 == 0 ? teamA : teamB;
+            shardedMemberRepository.save(new MemberCreateRequest("member" + i, i * 10, teamId));
+        }
+        shardedMemberRepository.save(new MemberCreateRequest("member11", 110, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.all().forEach(shard -> {
+            shard.getJdbcTemplate().execute("delete from member");
+            shard.getJdbcTemplate().execute("delete from team");
+        });
+    }
+
+    @DisplayName("팀이 서로 다른 샤드에 저장되고, 회원은 소속 팀과 같은 샤드에 저장된다")
+    @Test
+    void routing() {
+        assertThat(shards.shardOf(teamA)).isNotEqualTo(shards.shardOf(teamB));
+
+        Long memberId = shardedMemberRepository.save(new MemberCreateRequest("memberA", 20, teamA));
+        assertThat(shards.shardOf(memberId)).isEqualTo(shards.shardOf(teamA));
+
+        MemberTeamDto found = shardedMemberRepository.findById(memberId).orElseThrow();
+        assertThat(found.getTeamName()).isEqualTo("teamA");
+    }
+
+    @DisplayName("모든 샤드의 검색 결과가 memberId 순으로 합쳐진다")
+    @Test
+    void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(50);
+
+        List<MemberTeamDto> result = shardedMemberRepository.search(condition);
+
+        assertThat(result).extracting("username").containsExactlyInAnyOrder(
+                "member5", "member6", "member7", "member8", "member9", "member10", "member11");
+        assertThat(result).extracting("memberId").isSorted();
+    }
+
+    @DisplayName("샤드를 합친 결과로 페이징하고 total은 샤드별 count의 합")
+    @Test
+    void searchPage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<MemberTeamDto> all = shardedMemberRepository.search(condition);
+
+        Page<MemberTeamDto> page = shardedMemberRepository.searchPage(condition, PageRequest.of(1, 4));
+
+        assertThat(page.getContent()).isEqualTo(all.subList(4, 8));
+        assertThat(page.getTotalElements()).isEqualTo(11);
+    }
+
+    @DisplayName("pageable의 정렬로 샤드 결과를 합치고, 같은 값은 memberId 순")
+    @Test
+    void searchPageSort() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        Page<MemberTeamDto> byAge = shardedMemberRepository.searchPage(condition,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+        assertThat(byAge.getContent()).extracting("username").containsExactly("member11", "member10", "member9");
+
+        Page<MemberTeamDto> byTeam = shardedMemberRepository.searchPage(condition,
+                PageRequest.of(0, 4, Sort.by("teamName")));
+        assertThat(byTeam.getContent()).extracting("teamName").containsExactly(null, "teamA", "teamA", "teamA");
+        assertThat(byTeam.getContent().subList(1, 4)).extracting("memberId").isSorted();
+    }
+
+    @DisplayName("샤드 결과를 같은 순서로 합칠 수 없는 정렬은 거부한다")
+    @Test
+    void searchPageUnsupportedSort() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        assertThatThrownBy(() -> shardedMemberRepository.searchPage(condition, PageRequest.of(0, 4, Sort.by("teamId"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("샤드 스키마는 schema-faststart.sql로 만들어져서 마지막 활동 시각도 저장된다")
+    @Test
+    void schema() {
+        long active = shards.all().stream()
+                .mapToLong(shard -> shard.getJdbcTemplate().queryForObject(
+                        "select count(*) from member where last_active_at is not null", Long.class))
+                .sum();
+
+        assertThat(active).isEqualTo(11);
+    }
+}
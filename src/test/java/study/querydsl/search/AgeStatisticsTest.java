@@ -0,0 +1,54 @@
+package study.querydsl.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgeStatisticsTest {
+
+    AgeStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new AgeStatistics();
+        statistics.add(10);
+        statistics.add(20);
+        statistics.add(30);
+        statistics.add(40);
+    }
+
+    @DisplayName("집합 - count, sum, avg, max, min")
+    @Test
+    void aggregation() {
+        assertThat(statistics.count(null, null)).isEqualTo(4);
+        assertThat(statistics.sum(null, null)).isEqualTo(100);
+        assertThat(statistics.avg(null, null)).isEqualTo(25);
+        assertThat(statistics.max()).isEqualTo(40);
+        assertThat(statistics.min()).isEqualTo(10);
+    }
+
+    @DisplayName("나이 범위 count - ageGoe, ageLoe")
+    @Test
+    void rangeCount() {
+        assertThat(statistics.count(35, 40)).isEqualTo(1);
+        assertThat(statistics.count(20, null)).isEqualTo(3);
+        assertThat(statistics.count(null, 20)).isEqualTo(2);
+        assertThat(statistics.count(41, null)).isZero();
+        assertThat(statistics.avg(41, null)).isNull();
+    }
+
+    @DisplayName("나이 변경/삭제, 초기 범위를 벗어난 나이도 반영된다")
+    @Test
+    void update() {
+        statistics.move(10, 500);
+        statistics.remove(40);
+        statistics.add(-1);
+
+        assertThat(statistics.count(null, null)).isEqualTo(4);
+        assertThat(statistics.max()).isEqualTo(500);
+        assertThat(statistics.min()).isEqualTo(-1);
+        assertThat(statistics.count(100, null)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,93 @@
+package study.querydsl.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.Suggestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutocompleteIndexTest {
+
+    AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex();
+        index.putMember(1L, "member1");
+        index.putMember(2L, "member2");
+        index.putMember(3L, "member1");
+        index.putMember(4L, "user1");
+        index.putTeam(1L, "teamA");
+        index.putTeam(2L, "teamB");
+    }
+
+    @DisplayName("앞부분 일치 - 중복 없이 많이 쓰인 순(같으면 사전 순)으로 limit개, 같은 값의 개수 포함")
+    @Test
+    void prefix() {
+        assertThat(index.usernames("mem", 10)).containsExactly(
+                new Suggestion("member1", 2), new Suggestion("member2", 1));
+        assertThat(index.usernames("mem", 1)).extracting("value").containsExactly("member1");
+        assertThat(index.usernames("", 10)).extracting("value").containsExactly("member1", "member2", "user1");
+        assertThat(index.usernames("x", 10)).isEmpty();
+    }
+
+    @DisplayName("사전 순으로 앞선 값보다 많이 쓰인 값이 먼저 나온다")
+    @Test
+    void topByCount() {
+        index.putMember(5L, "user1");
+        index.putMember(6L, "user1");
+        index.putMember(7L, "mem");
+
+        assertThat(index.usernames("", 2)).containsExactly(
+                new Suggestion("user1", 3), new Suggestion("member1", 2));
+        assertThat(index.usernames("mem", 2)).containsExactly(
+                new Suggestion("member1", 2), new Suggestion("mem", 1));
+        assertThat(index.usernames("", 0)).isEmpty();
+    }
+
+    @DisplayName("값이 많은 prefix는 상위 목록을 캐시하고, 개수가 바뀌면 캐시도 고친다")
+    @Test
+    void cachedTop() {
+        AutocompleteIndex large = new AutocompleteIndex();
+        long id = 0;
+        for (int i = 0; i < 1000; i++) {
+            large.putMember(++id, "member" + i);
+        }
+        large.putMember(++id, "member500");
+        assertThat(large.usernames("m", 2)).containsExactly(
+                new Suggestion("member500", 2), new Suggestion("member0", 1));
+
+        // 목록 밖의 값이 늘어나서 올라온다.
+        large.putMember(++id, "member999");
+        large.putMember(++id, "member999");
+        assertThat(large.usernames("m", 2)).containsExactly(
+                new Suggestion("member999", 3), new Suggestion("member500", 2));
+
+        // 목록 안의 값이 줄어들면 목록 밖의 값이 다시 올라온다.
+        large.removeMember(id);
+        large.removeMember(id - 1);
+        large.removeMember(1L);
+        assertThat(large.usernames("m", 3)).containsExactly(
+                new Suggestion("member500", 2), new Suggestion("member1", 1), new Suggestion("member10", 1));
+    }
+
+    @DisplayName("회원명 변경, 삭제가 사전에 반영된다")
+    @Test
+    void update() {
+        index.putMember(1L, "user2");
+        index.removeMember(2L);
+
+        assertThat(index.usernames("mem", 10)).containsExactly(new Suggestion("member1", 1));
+        assertThat(index.usernames("user", 10)).extracting("value").containsExactly("user1", "user2");
+    }
+
+    @DisplayName("팀명 변경이 사전에 반영된다")
+    @Test
+    void teamRename() {
+        index.putTeam(1L, "teamC");
+        index.removeTeam(2L);
+
+        assertThat(index.teamNames("team", 10)).extracting("value").containsExactly("teamC");
+    }
+}
@@ -0,0 +1,136 @@
+package study.querydsl.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UsernameMatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSearchIndexTest {
+
+    MemberSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MemberSearchIndex();
+        index.putTeam(1L, "teamA");
+        index.putTeam(2L, "teamB");
+        index.putMember(10L, "member1", 10, 1L);
+        index.putMember(11L, "member2", 20, 1L);
+        index.putMember(12L, "member3", 30, 2L);
+        index.putMember(13L, "member4", 40, 2L);
+    }
+
+    @DisplayName("팀명, 나이 범위 검색")
+    @Test
+    void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(35);
+        condition.setAgeLoe(40);
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = index.search(condition);
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result.get(0).getTeamName()).isEqualTo("teamB");
+    }
+
+    @DisplayName("나이 범위만 있는 검색은 정렬된 나이 배열로 처리")
+    @Test
+    void searchAgeRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(30);
+
+        assertThat(index.search(condition)).extracting("username").containsExactly("member2", "member3");
+        assertThat(index.search(new MemberSearchCondition())).hasSize(4);
+    }
+
+    @DisplayName("한꺼번에 적재해도 나이 배열이 (age, memberId) 순으로 정렬된다")
+    @Test
+    void putMembers() {
+        MemberSearchIndex bulk = new MemberSearchIndex();
+        bulk.putTeam(1L, "teamA");
+        bulk.putMembers(List.of(
+                new MemberSearchIndex.MemberRow(1L, "member1", 30, 1L),
+                new MemberSearchIndex.MemberRow(2L, "member2", 10, 1L),
+                new MemberSearchIndex.MemberRow(3L, "member3", 30, null),
+                new MemberSearchIndex.MemberRow(4L, "member4", 20, 1L)));
+        bulk.putMember(5L, "member5", 25, 1L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        assertThat(bulk.search(condition)).extracting("username")
+                .containsExactly("member1", "member3", "member4", "member5");
+        condition.setTeamName("teamA");
+        assertThat(bulk.search(condition)).extracting("username").containsExactly("member1", "member4", "member5");
+    }
+
+    @DisplayName("회원 변경, 팀 이름 변경이 검색에 반영된다")
+    @Test
+    void update() {
+        index.putMember(10L, "member1", 50, 2L);
+        index.putTeam(2L, "teamC");
+        index.removeMember(13L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamC");
+
+        assertThat(index.search(condition)).extracting("username").containsExactly("member1", "member3");
+        condition.setTeamName("teamB");
+        assertThat(index.search(condition)).isEmpty();
+    }
+
+    @DisplayName("회원명을 바꾸면 이전 회원명으로는 찾을 수 없다")
+    @Test
+    void rename() {
+        index.putMember(10L, "renamed", 10, 1L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("member1");
+        assertThat(index.search(condition)).isEmpty();
+        condition.setUserName("renamed");
+        assertThat(index.search(condition)).extracting("memberId").containsExactly(10L);
+    }
+
+    @DisplayName("나이를 바꾸면 나이 배열에 한 번만 남는다")
+    @Test
+    void ageChange() {
+        index.putMember(10L, "member1", 35, 1L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        assertThat(index.search(condition)).extracting("memberId").containsExactly(10L, 11L, 12L, 13L);
+        condition.setAgeLoe(15);
+        assertThat(index.search(condition)).isEmpty();
+        condition.setAgeGoe(35);
+        condition.setAgeLoe(35);
+        assertThat(index.search(condition)).extracting("username").containsExactly("member1");
+    }
+
+    @DisplayName("나이를 바꾼 뒤 삭제해도 나이 배열에 남는 항목이 없다")
+    @Test
+    void ageChangeThenDelete() {
+        index.putMember(10L, "member1", 35, 1L);
+        index.removeMember(10L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        assertThat(index.search(condition)).extracting("memberId").containsExactly(11L, 12L, 13L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @DisplayName("일치 검색이 아닌 회원명 검색은 지원하지 않는다")
+    @Test
+    void supports() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("mem");
+        assertThat(MemberSearchIndex.supports(condition)).isTrue();
+
+        condition.setUsernameMatch(UsernameMatch.PREFIX);
+        assertThat(MemberSearchIndex.supports(condition)).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsernameNgramIndexTest {
+
+    UsernameNgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UsernameNgramIndex();
+        index.put(1L, "member1");
+        index.put(2L, "member2");
+        index.put(3L, "Kim");
+        index.put(4L, "teamMember");
+    }
+
+    @DisplayName("부분 일치 검색 - 대소문자 무시")
+    @Test
+    void contains() {
+        assertThat(index.contains("ember")).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.contains("MEMBER1")).containsExactly(1L);
+        assertThat(index.contains("xyz")).isEmpty();
+    }
+
+    @DisplayName("부분 일치 검색 - trigram보다 짧은 검색어")
+    @Test
+    void containsShortQuery() {
+        assertThat(index.contains("ki")).containsExactly(3L);
+    }
+
+    @DisplayName("유사 검색 - 오타가 있어도 비슷한 순서대로 조회")
+    @Test
+    void fuzzy() {
+        assertThat(index.fuzzy("membr1", 10)).first().isEqualTo(1L);
+        assertThat(index.fuzzy("zzzz", 10)).isEmpty();
+    }
+
+    @DisplayName("변경/삭제 시 이전 값은 검색되지 않는다")
+    @Test
+    void updateAndRemove() {
+        index.put(1L, "renamed");
+        index.remove(2L);
+
+        assertThat(index.contains("member")).containsExactly(4L);
+        assertThat(index.contains("renamed")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
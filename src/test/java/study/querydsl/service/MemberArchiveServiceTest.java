@@ -0,0 +1,121 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.DataVersion;
+import study.querydsl.repository.MemberRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 보관 작업은 chunk마다 별도 트랜잭션으로 커밋되므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest(properties = "member.archive.chunk-size=2")
+class MemberArchiveServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberArchiveService memberArchiveService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    DataVersion dataVersion;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            for (int i = 1; i <= 5; i++) {
+                Member member = new Member("member" + i, i * 10, teamA);
+                member.setLastActiveAt(LocalDateTime.now().minusYears(2));     // 비활성
+                em.persist(member);
+            }
+            em.persist(new Member("member6", 60, teamA));                       // 방금 가입
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from ArchivedMember").executeUpdate();
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @DisplayName("비활성 회원을 chunk 단위로 보관 테이블로 옮긴다")
+    @Test
+    void archive() {
+        long archived = memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusYears(1));
+
+        assertThat(archived).isEqualTo(5);
+        assertThat(memberRepository.findAll()).extracting("username").containsExactly("member6");
+        assertThat(em.createQuery("select count(a) from ArchivedMember a", Long.class).getSingleResult()).isEqualTo(5);
+    }
+
+    @DisplayName("여러 chunk를 옮겨도 변경 이벤트는 작업이 끝난 뒤 한 번만 발행된다")
+    @Test
+    void publishOnce() {
+        long version = dataVersion.current();
+
+        memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusYears(1));     // chunk 3번
+
+        assertThat(dataVersion.current()).isEqualTo(version + 1);
+    }
+
+    @DisplayName("활동이 기록된 회원은 옮기지 않고, 보관된 회원이 활동하면 되돌린다")
+    @Test
+    void recordActivity() {
+        Long member1Id = memberRepository.findByUsername("member1").get(0).getId();
+        Long member2Id = memberRepository.findByUsername("member2").get(0).getId();
+        assertThat(memberArchiveService.recordActivity(member1Id)).isTrue();
+
+        assertThat(memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusYears(1))).isEqualTo(4);
+        assertThat(memberRepository.findById(member2Id)).isEmpty();
+
+        assertThat(memberArchiveService.recordActivity(member2Id)).isTrue();
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUserName("member2");
+        assertThat(memberRepository.search(condition)).extracting("teamName").containsExactly("teamA");
+        assertThat(memberRepository.findAll()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member6");
+        assertThat(memberArchiveService.recordActivity(-1L)).isFalse();
+    }
+
+    @DisplayName("includeArchived면 보관된 회원도 검색된다")
+    @Test
+    void searchIncludeArchived() {
+        memberArchiveService.archiveInactiveBefore(LocalDateTime.now().minusYears(1));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(40);
+        assertThat(memberRepository.search(condition)).extracting("username").containsExactly("member6");
+
+        condition.setIncludeArchived(true);
+        assertThat(memberRepository.search(condition)).extracting("username")
+                .containsExactlyInAnyOrder("member4", "member5", "member6");
+        assertThat(memberRepository.search(condition)).extracting("teamName").containsOnly("teamA");
+    }
+}
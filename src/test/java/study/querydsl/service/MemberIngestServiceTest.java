@@ -0,0 +1,115 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberCreateRequest;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberIngestFailure;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 별도 flusher 스레드/트랜잭션으로 저장되기 때문에 @Transactional 롤백을 쓰지 않고 직접 정리한다.
+@SpringBootTest
+class MemberIngestServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberIngestService memberIngestService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    TransactionTemplate tx;
+    Long teamId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        teamId = tx.execute(status -> {
+            Team team = new Team("teamA");
+            em.persist(team);
+            return team.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from MemberIngestFailure").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @DisplayName("적재된 요청은 flush 시 배치로 저장된다")
+    @Test
+    void flushBatch() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(memberIngestService.offer(new MemberCreateRequest("member" + i, i, teamId))).isTrue();
+        }
+
+        memberIngestService.flush();
+
+        List<Member> result = memberRepository.findByUsername("member3");
+        assertThat(result).extracting("age").containsExactly(3);
+        assertThat(memberRepository.count()).isEqualTo(10);
+    }
+
+    @DisplayName("저장에 실패한 요청만 실패 테이블에 기록되고 나머지는 저장된다")
+    @Test
+    void recordFailure() {
+        memberIngestService.offer(new MemberCreateRequest("member1", 10, teamId));
+        memberIngestService.offer(new MemberCreateRequest("ghost", 20, -1L));   // 존재하지 않는 팀 -> FK 위반
+        memberIngestService.offer(new MemberCreateRequest("member2", 30, teamId));
+
+        memberIngestService.flush();
+
+        assertThat(memberRepository.count()).isEqualTo(2);
+        List<MemberIngestFailure> failures = em
+                .createQuery("select f from MemberIngestFailure f", MemberIngestFailure.class)
+                .getResultList();
+        assertThat(failures).extracting("username").containsExactly("ghost");
+    }
+
+    @DisplayName("큐가 가득 차면 요청을 거절한다")
+    @Test
+    void backpressure() {
+        MemberIngestService small = new MemberIngestService(em, transactionManager, 2, 10, 60_000);
+
+        assertThat(small.offer(new MemberCreateRequest("member1", 10, teamId))).isTrue();
+        assertThat(small.offer(new MemberCreateRequest("member2", 20, teamId))).isTrue();
+        assertThat(small.offer(new MemberCreateRequest("member3", 30, teamId))).isFalse();
+        assertThat(small.stats().rejected()).isEqualTo(1);
+
+        small.shutdown();   // 남은 요청 저장
+        assertThat(memberRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("종료된 뒤의 요청은 예외로 거절한다")
+    @Test
+    void rejectAfterShutdown() {
+        MemberIngestService small = new MemberIngestService(em, transactionManager, 10, 10, 60_000);
+        small.shutdown();
+
+        assertThatThrownBy(() -> small.offer(new MemberCreateRequest("member1", 10, teamId)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(small.stats().queued()).isZero();
+    }
+}